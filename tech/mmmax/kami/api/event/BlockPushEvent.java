@@ -1,8 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
+public class BlockPushEvent extends KamiEvent {
 
-public class BlockPushEvent extends Event {
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(BlockPushEvent.class);
 
     public boolean isCancelable() {
         return true;
@@ -0,0 +1,30 @@
+package tech.mmmax.kami.api.event;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+
+public class BlockUpdateEvent extends KamiEvent {
+
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(BlockUpdateEvent.class);
+    BlockPos pos;
+    IBlockState oldState;
+    IBlockState newState;
+
+    public BlockUpdateEvent(BlockPos pos, IBlockState oldState, IBlockState newState) {
+        this.pos = pos;
+        this.oldState = oldState;
+        this.newState = newState;
+    }
+
+    public BlockPos getPos() {
+        return this.pos;
+    }
+
+    public IBlockState getOldState() {
+        return this.oldState;
+    }
+
+    public IBlockState getNewState() {
+        return this.newState;
+    }
+}
@@ -1,10 +1,10 @@
 package tech.mmmax.kami.api.event;
 
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class ChorusEvent extends Event {
+public class ChorusEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(ChorusEvent.class);
     final EntityLivingBase entityLivingBase;
     double x;
     double y;
@@ -0,0 +1,6 @@
+package tech.mmmax.kami.api.event;
+
+public enum Delivery {
+
+    Inline, ClientTick;
+}
@@ -0,0 +1,141 @@
+package tech.mmmax.kami.api.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+
+public class DeliveryQueue {
+
+    public static final DeliveryQueue INSTANCE = new DeliveryQueue();
+    final Queue queue = new ConcurrentLinkedQueue();
+    final AtomicInteger depth = new AtomicInteger();
+    final AtomicInteger maxDepth = new AtomicInteger();
+    final DeliveryQueue.Stats[] stats = new DeliveryQueue.Stats[Delivery.values().length];
+    volatile int lastBatch;
+
+    DeliveryQueue() {
+        for (int i = 0; i < this.stats.length; ++i) {
+            this.stats[i] = new DeliveryQueue.Stats();
+        }
+
+        MinecraftForge.EVENT_BUS.register(this);
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.HIGHEST
+    )
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            this.drain();
+        }
+
+    }
+
+    public static boolean isClientThread() {
+        Minecraft mc = Minecraft.getMinecraft();
+
+        return mc != null && mc.isCallingFromMinecraftThread();
+    }
+
+    void enqueue(EventChannel.Listener listener, KamiEvent event, long dispatched) {
+        this.queue.add(new DeliveryQueue.Entry(listener, event, dispatched));
+        int current = this.depth.incrementAndGet();
+
+        this.maxDepth.accumulateAndGet(current, Math::max);
+    }
+
+    public void drain() {
+        int batch = this.depth.get();
+        int delivered = 0;
+        DeliveryQueue.Stats clientTick = this.getStats(Delivery.ClientTick);
+
+        for (DeliveryQueue.Entry entry; delivered < batch && (entry = (DeliveryQueue.Entry) this.queue.poll()) != null; ++delivered) {
+            this.depth.decrementAndGet();
+            clientTick.record(System.nanoTime() - entry.time);
+            if (entry.listener.active) {
+                entry.listener.invoke(entry.event);
+            }
+        }
+
+        this.lastBatch = delivered;
+    }
+
+    public int getDepth() {
+        return this.depth.get();
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth.get();
+    }
+
+    public int getLastBatch() {
+        return this.lastBatch;
+    }
+
+    public DeliveryQueue.Stats getStats(Delivery delivery) {
+        return this.stats[delivery.ordinal()];
+    }
+
+    public void resetStats() {
+        this.maxDepth.set(this.depth.get());
+
+        for (int i = 0; i < this.stats.length; ++i) {
+            this.stats[i].reset();
+        }
+
+    }
+
+    public static class Stats {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public double getAverageMillis() {
+            long count = this.count.sum();
+
+            return count == 0L ? 0.0D : (double) this.totalNanos.sum() / (double) count / 1000000.0D;
+        }
+
+        public double getMaxMillis() {
+            return (double) this.maxNanos.get() / 1000000.0D;
+        }
+
+        public void reset() {
+            this.count.reset();
+            this.totalNanos.reset();
+            this.maxNanos.set(0L);
+        }
+    }
+
+    static class Entry {
+
+        final EventChannel.Listener listener;
+        final KamiEvent event;
+        final long time;
+
+        Entry(EventChannel.Listener listener, KamiEvent event, long time) {
+            this.listener = listener;
+            this.event = event;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package tech.mmmax.kami.api.event;
+
+import java.util.ArrayList;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+import tech.mmmax.kami.api.utils.network.PacketReplay;
+
+public class EventChannel {
+
+    static final EventChannel.Listener[] EMPTY = new EventChannel.Listener[0];
+    final Class type;
+    volatile EventChannel.Listener[] listeners;
+
+    EventChannel(Class type) {
+        this.listeners = EventChannel.EMPTY;
+        this.type = type;
+    }
+
+    public boolean hasListeners() {
+        return this.listeners.length != 0;
+    }
+
+    public boolean post(KamiEvent event) {
+        return this.post(event, this.listeners);
+    }
+
+    boolean post(KamiEvent event, EventChannel.Listener[] current) {
+        if (current.length == 0) {
+            return event.canceled;
+        } else if (DeliveryQueue.isClientThread()) {
+            for (int i = 0; i < current.length; ++i) {
+                EventChannel.Listener listener = current[i];
+
+                if (!event.canceled || listener.receiveCanceled) {
+                    listener.invoke(event);
+                }
+            }
+
+            return event.canceled;
+        } else {
+            long dispatched = System.nanoTime();
+
+            for (int i = 0; i < current.length; ++i) {
+                EventChannel.Listener listener = current[i];
+
+                if (!event.canceled || listener.receiveCanceled) {
+                    if (listener.delivery == Delivery.ClientTick) {
+                        DeliveryQueue.INSTANCE.enqueue(listener, event, dispatched);
+                    } else {
+                        DeliveryQueue.INSTANCE.getStats(Delivery.Inline).record(System.nanoTime() - dispatched);
+                        listener.invoke(event);
+                    }
+                }
+            }
+
+            return event.canceled;
+        }
+    }
+
+    public Class getType() {
+        return this.type;
+    }
+
+    public int getListenerCount() {
+        return this.listeners.length;
+    }
+
+    public EventChannel.Listener[] getListeners() {
+        return (EventChannel.Listener[]) this.listeners.clone();
+    }
+
+    synchronized void add(EventChannel.Listener listener) {
+        EventChannel.Listener[] current = this.listeners;
+        EventChannel.Listener[] next = new EventChannel.Listener[current.length + 1];
+        int index = 0;
+
+        while (index < current.length && current[index].priority.ordinal() <= listener.priority.ordinal()) {
+            next[index] = current[index];
+            ++index;
+        }
+
+        next[index] = listener;
+        System.arraycopy(current, index, next, index + 1, current.length - index);
+        this.listeners = next;
+    }
+
+    synchronized void remove(Object owner) {
+        EventChannel.Listener[] current = this.listeners;
+        ArrayList kept = new ArrayList(current.length);
+
+        for (int i = 0; i < current.length; ++i) {
+            if (current[i].owner != owner) {
+                kept.add(current[i]);
+            } else {
+                current[i].active = false;
+            }
+        }
+
+        if (kept.size() != current.length) {
+            this.listeners = kept.isEmpty() ? EventChannel.EMPTY : (EventChannel.Listener[]) kept.toArray(new EventChannel.Listener[0]);
+        }
+
+    }
+
+    public interface Invoker {
+
+        void invoke(Object object, KamiEvent kamievent);
+    }
+
+    public static class Listener {
+
+        final Object owner;
+        final String name;
+        final EventChannel.Invoker invoker;
+        final EventPriority priority;
+        final boolean receiveCanceled;
+        final Delivery delivery;
+        final Class[] packets;
+        final int times;
+        final DeliveryQueue.Stats stats;
+        volatile boolean active = true;
+
+        Listener(Object owner, String name, EventChannel.Invoker invoker, EventPriority priority, boolean receiveCanceled, Delivery delivery, Class[] packets, int times, boolean timed) {
+            this.owner = owner;
+            this.name = name;
+            this.invoker = invoker;
+            this.priority = priority;
+            this.receiveCanceled = receiveCanceled;
+            this.delivery = delivery;
+            this.packets = packets;
+            this.times = times;
+            this.stats = timed ? new DeliveryQueue.Stats() : null;
+        }
+
+        void invoke(KamiEvent event) {
+            if (PacketReplay.isRunning()) {
+                long cpu = PacketReplay.getCpuTime();
+                long allocated = PacketReplay.getAllocatedBytes();
+
+                this.invoker.invoke(this.owner, event);
+                PacketReplay.record(this.owner.getClass(), PacketReplay.getCpuTime() - cpu, PacketReplay.getAllocatedBytes() - allocated);
+            } else if (this.stats != null && PacketMetrics.isEnabled()) {
+                long start = System.nanoTime();
+
+                this.invoker.invoke(this.owner, event);
+                this.stats.record(System.nanoTime() - start);
+            } else {
+                this.invoker.invoke(this.owner, event);
+            }
+
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public DeliveryQueue.Stats getStats() {
+            return this.stats;
+        }
+
+        boolean accepts(Class packet, PacketEvent.Time time) {
+            if ((this.times & 1 << time.ordinal()) == 0) {
+                return false;
+            } else if (this.packets.length == 0) {
+                return true;
+            } else {
+                for (int i = 0; i < this.packets.length; ++i) {
+                    if (this.packets[i].isAssignableFrom(packet)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package tech.mmmax.kami.api.event;
+
+import net.minecraft.network.Packet;
+
+public interface IPacketEvent {
+
+    Packet getPacket();
+
+    PacketEvent.Time getTime();
+}
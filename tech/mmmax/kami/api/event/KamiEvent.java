@@ -0,0 +1,22 @@
+package tech.mmmax.kami.api.event;
+
+public class KamiEvent {
+
+    boolean canceled;
+
+    public boolean isCancelable() {
+        return false;
+    }
+
+    public boolean isCanceled() {
+        return this.canceled;
+    }
+
+    public void setCanceled(boolean canceled) {
+        if (!this.isCancelable()) {
+            throw new UnsupportedOperationException("Attempted to call setCanceled() on a non-cancelable event of type: " + this.getClass().getName());
+        } else {
+            this.canceled = canceled;
+        }
+    }
+}
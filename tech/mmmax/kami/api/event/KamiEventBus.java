@@ -0,0 +1,151 @@
+package tech.mmmax.kami.api.event;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class KamiEventBus {
+
+    public static final KamiEventBus INSTANCE = new KamiEventBus();
+    final Map channels = new ConcurrentHashMap();
+    final Map invokers = new ConcurrentHashMap();
+    final Map registered = new IdentityHashMap();
+
+    public EventChannel getChannel(Class type) {
+        return (EventChannel) this.channels.computeIfAbsent(type, (key) -> {
+            return (EventChannel) (IPacketEvent.class.isAssignableFrom((Class) key) ? new PacketChannel((Class) key) : new EventChannel((Class) key));
+        });
+    }
+
+    public boolean post(KamiEvent event) {
+        return this.getChannel(event.getClass()).post(event);
+    }
+
+    public synchronized void register(Object object) {
+        if (!this.registered.containsKey(object)) {
+            ArrayList subscribed = new ArrayList();
+            Iterator iterator = getSubscribers(object.getClass()).iterator();
+
+            while (iterator.hasNext()) {
+                Method method = (Method) iterator.next();
+                Subscribe subscribe = (Subscribe) method.getAnnotation(Subscribe.class);
+                PacketFilter filter = (PacketFilter) method.getAnnotation(PacketFilter.class);
+                EventChannel channel = this.getChannel(method.getParameterTypes()[0]);
+
+                channel.add(new EventChannel.Listener(object, method.getDeclaringClass().getSimpleName() + "." + method.getName(), this.getInvoker(method), subscribe.priority(), subscribe.receiveCanceled(), subscribe.delivery(), filter != null ? filter.value() : new Class[0], filter != null ? getTimeMask(filter.time()) : -1, channel instanceof PacketChannel));
+                subscribed.add(channel);
+            }
+
+            this.registered.put(object, subscribed);
+        }
+    }
+
+    public synchronized void unregister(Object object) {
+        List subscribed = (List) this.registered.remove(object);
+
+        if (subscribed != null) {
+            Iterator iterator = subscribed.iterator();
+
+            while (iterator.hasNext()) {
+                ((EventChannel) iterator.next()).remove(object);
+            }
+
+        }
+    }
+
+    public synchronized boolean isRegistered(Object object) {
+        return this.registered.containsKey(object);
+    }
+
+    EventChannel.Invoker getInvoker(Method method) {
+        return (EventChannel.Invoker) this.invokers.computeIfAbsent(method, (key) -> {
+            return createInvoker((Method) key);
+        });
+    }
+
+    static int getTimeMask(PacketEvent.Time[] times) {
+        int mask = 0;
+
+        for (int i = 0; i < times.length; ++i) {
+            mask |= 1 << times[i].ordinal();
+        }
+
+        return mask;
+    }
+
+    static List getSubscribers(Class type) {
+        ArrayList methods = new ArrayList();
+
+        for (Class current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            Method[] amethod = current.getDeclaredMethods();
+            int i = amethod.length;
+
+            for (int j = 0; j < i; ++j) {
+                Method method = amethod[j];
+
+                if (method.isAnnotationPresent(Subscribe.class) && !Modifier.isStatic(method.getModifiers()) && !isOverridden(type, current, method)) {
+                    if (method.getParameterCount() != 1 || !KamiEvent.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                        throw new IllegalArgumentException("Method " + method + " has @Subscribe annotation, but does not take a single KamiEvent argument");
+                    }
+
+                    methods.add(method);
+                }
+            }
+        }
+
+        return methods;
+    }
+
+    static boolean isOverridden(Class type, Class declaring, Method method) {
+        for (Class current = type; current != declaring; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                return true;
+            } catch (NoSuchMethodException nosuchmethodexception) {
+                ;
+            }
+        }
+
+        return false;
+    }
+
+    static EventChannel.Invoker createInvoker(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "invoke", MethodType.methodType(EventChannel.Invoker.class), MethodType.methodType(Void.TYPE, Object.class, KamiEvent.class), handle, MethodType.methodType(Void.TYPE, method.getDeclaringClass(), method.getParameterTypes()[0]));
+
+            return (EventChannel.Invoker) site.getTarget().invoke();
+        } catch (Throwable throwable) {
+            method.setAccessible(true);
+            return (object, event) -> {
+                try {
+                    method.invoke(object, new Object[] { event});
+                } catch (InvocationTargetException invocationtargetexception) {
+                    Throwable cause = invocationtargetexception.getCause();
+
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new RuntimeException(cause);
+                    }
+                } catch (IllegalAccessException illegalaccessexception) {
+                    throw new RuntimeException(illegalaccessexception);
+                }
+            };
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package tech.mmmax.kami.api.event;
 
 import net.minecraft.entity.MoverType;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class MoveEvent extends Event {
+public class MoveEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(MoveEvent.class);
     public MoverType type;
     public double x;
     public double y;
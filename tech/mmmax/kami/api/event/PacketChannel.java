@@ -0,0 +1,90 @@
+package tech.mmmax.kami.api.event;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+
+public class PacketChannel extends EventChannel {
+
+    volatile Map[] routes = createRoutes();
+
+    PacketChannel(Class type) {
+        super(type);
+    }
+
+    public boolean hasListeners(Class packet, PacketEvent.Time time) {
+        return this.getRoute(packet, time).length != 0;
+    }
+
+    public boolean post(KamiEvent event) {
+        IPacketEvent packetEvent = (IPacketEvent) event;
+        EventChannel.Listener[] route = this.getRoute(packetEvent.getPacket().getClass(), packetEvent.getTime());
+
+        if (route.length != 0 && PacketMetrics.isEnabled()) {
+            long start = System.nanoTime();
+            boolean canceled = this.post(event, route);
+
+            PacketMetrics.getHandlers().record(System.nanoTime() - start);
+            return canceled;
+        } else {
+            return this.post(event, route);
+        }
+    }
+
+    public int getRouteCount() {
+        Map[] current = this.routes;
+        int count = 0;
+
+        for (int i = 0; i < current.length; ++i) {
+            count += current[i].size();
+        }
+
+        return count;
+    }
+
+    EventChannel.Listener[] getRoute(Class packet, PacketEvent.Time time) {
+        Map route = this.routes[time.ordinal()];
+        EventChannel.Listener[] listeners = (EventChannel.Listener[]) route.get(packet);
+
+        if (listeners == null) {
+            listeners = this.buildRoute(packet, time);
+            route.put(packet, listeners);
+        }
+
+        return listeners;
+    }
+
+    EventChannel.Listener[] buildRoute(Class packet, PacketEvent.Time time) {
+        EventChannel.Listener[] current = this.listeners;
+        ArrayList matched = new ArrayList();
+
+        for (int i = 0; i < current.length; ++i) {
+            if (current[i].accepts(packet, time)) {
+                matched.add(current[i]);
+            }
+        }
+
+        return matched.isEmpty() ? EventChannel.EMPTY : (EventChannel.Listener[]) matched.toArray(new EventChannel.Listener[0]);
+    }
+
+    synchronized void add(EventChannel.Listener listener) {
+        super.add(listener);
+        this.routes = createRoutes();
+    }
+
+    synchronized void remove(Object owner) {
+        super.remove(owner);
+        this.routes = createRoutes();
+    }
+
+    static Map[] createRoutes() {
+        Map[] routes = new Map[PacketEvent.Time.values().length];
+
+        for (int i = 0; i < routes.length; ++i) {
+            routes[i] = new ConcurrentHashMap();
+        }
+
+        return routes;
+    }
+}
@@ -1,10 +1,10 @@
 package tech.mmmax.kami.api.event;
 
 import net.minecraft.network.Packet;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class PacketEvent extends Event {
+public class PacketEvent extends KamiEvent implements IPacketEvent {
 
+    public static final PacketChannel CHANNEL = (PacketChannel) KamiEventBus.INSTANCE.getChannel(PacketEvent.class);
     public Packet packet;
     public PacketEvent.Time time;
 
@@ -0,0 +1,15 @@
+package tech.mmmax.kami.api.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD})
+public @interface PacketFilter {
+
+    Class[] value() default {};
+
+    PacketEvent.Time[] time() default { PacketEvent.Time.Send, PacketEvent.Time.Receive};
+}
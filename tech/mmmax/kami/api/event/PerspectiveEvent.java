@@ -1,9 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
-
-public class PerspectiveEvent extends Event {
+public class PerspectiveEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(PerspectiveEvent.class);
     float aspect;
 
     public PerspectiveEvent(float aspect) {
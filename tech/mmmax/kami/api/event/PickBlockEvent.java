@@ -1,8 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
+public class PickBlockEvent extends KamiEvent {
 
-public class PickBlockEvent extends Event {
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(PickBlockEvent.class);
 
     public boolean isCancelable() {
         return true;
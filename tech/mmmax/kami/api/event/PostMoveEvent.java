@@ -1,9 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
-
-public class PostMoveEvent extends Event {
+public class PostMoveEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(PostMoveEvent.class);
     double x;
     double y;
     double z;
@@ -1,17 +1,23 @@
 package tech.mmmax.kami.api.event;
 
 import net.minecraft.network.Packet;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class PostPacketEvent extends Event {
+public class PostPacketEvent extends KamiEvent implements IPacketEvent {
 
+    public static final PacketChannel CHANNEL = (PacketChannel) KamiEventBus.INSTANCE.getChannel(PostPacketEvent.class);
     Packet packet;
+    PacketEvent.Time time;
 
-    public PostPacketEvent(Packet packet) {
+    public PostPacketEvent(Packet packet, PacketEvent.Time time) {
         this.packet = packet;
+        this.time = time;
     }
 
     public Packet getPacket() {
         return this.packet;
     }
+
+    public PacketEvent.Time getTime() {
+        return this.time;
+    }
 }
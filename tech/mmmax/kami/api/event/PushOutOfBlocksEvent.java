@@ -1,8 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
+public class PushOutOfBlocksEvent extends KamiEvent {
 
-public class PushOutOfBlocksEvent extends Event {
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(PushOutOfBlocksEvent.class);
 
     public boolean isCancelable() {
         return true;
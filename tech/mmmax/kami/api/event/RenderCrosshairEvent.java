@@ -1,10 +1,10 @@
 package tech.mmmax.kami.api.event;
 
 import net.minecraft.client.gui.ScaledResolution;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class RenderCrosshairEvent extends Event {
+public class RenderCrosshairEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(RenderCrosshairEvent.class);
     float partialTicks;
     ScaledResolution sr;
 
@@ -2,10 +2,10 @@ package tech.mmmax.kami.api.event;
 
 import net.minecraft.client.model.ModelBase;
 import net.minecraft.entity.Entity;
-import net.minecraftforge.fml.common.eventhandler.Event;
 
-public class RenderEntityEvent extends Event {
+public class RenderEntityEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(RenderEntityEvent.class);
     public ModelBase modelBase;
     public Entity entityIn;
     public float limbSwing;
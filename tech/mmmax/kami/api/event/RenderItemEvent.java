@@ -1,9 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
-
-public class RenderItemEvent extends Event {
+public class RenderItemEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(RenderItemEvent.class);
     double mainX;
     double mainY;
     double mainZ;
@@ -1,9 +1,8 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
-
-public class RenderSkyEvent extends Event {
+public class RenderSkyEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(RenderSkyEvent.class);
     final float partialTicks;
     double red = 0.0D;
     double green = 0.0D;
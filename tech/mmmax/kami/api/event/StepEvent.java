@@ -1,7 +1,6 @@
 package tech.mmmax.kami.api.event;
 
-import net.minecraftforge.fml.common.eventhandler.Event;
-
-public class StepEvent extends Event {
+public class StepEvent extends KamiEvent {
 
+    public static final EventChannel CHANNEL = KamiEventBus.INSTANCE.getChannel(StepEvent.class);
 }
@@ -0,0 +1,18 @@
+package tech.mmmax.kami.api.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD})
+public @interface Subscribe {
+
+    EventPriority priority() default EventPriority.NORMAL;
+
+    boolean receiveCanceled() default false;
+
+    Delivery delivery() default Delivery.Inline;
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import net.minecraftforge.common.MinecraftForge;
 import tech.mmmax.kami.api.config.ISavable;
+import tech.mmmax.kami.api.event.KamiEventBus;
 import tech.mmmax.kami.api.management.SavableManager;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
@@ -69,10 +70,12 @@ public class Feature implements ISavable {
 
     public void onEnable() {
         MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
     }
 
     public void onDisable() {
         MinecraftForge.EVENT_BUS.unregister(this);
+        KamiEventBus.INSTANCE.unregister(this);
     }
 
     public void toggle() {
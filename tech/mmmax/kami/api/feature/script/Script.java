@@ -8,6 +8,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.feature.script.node.nodes.EventNode;
@@ -50,7 +51,7 @@ public class Script extends Module {
         ((EventNode) this.nodes.get(Integer.valueOf(2))).runNode(args);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onPacket(PacketEvent event) {
         HashMap args = new HashMap();
 
@@ -58,7 +59,7 @@ public class Script extends Module {
         ((EventNode) this.nodes.get(Integer.valueOf(3))).runNode(args);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onMove(MoveEvent event) {
         HashMap args = new HashMap();
 
@@ -0,0 +1,279 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketBlockChange;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.network.play.server.SPacketExplosion;
+import net.minecraft.network.play.server.SPacketJoinGame;
+import net.minecraft.network.play.server.SPacketMultiBlockChange;
+import net.minecraft.network.play.server.SPacketRespawn;
+import net.minecraft.network.play.server.SPacketUnloadChunk;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.utils.NullUtils;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public abstract class ChunkIndex implements IMinecraft {
+
+    public static final int CELLS_PER_TICK = 65536;
+    final Queue updates = new ConcurrentLinkedQueue();
+    List settling = new ArrayList();
+    final Set pendingChunks = new LinkedHashSet();
+    final Map chunks = new HashMap();
+    WorldClient world;
+
+    public ChunkIndex() {
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketBlockChange.class, SPacketMultiBlockChange.class, SPacketExplosion.class, SPacketChunkData.class, SPacketUnloadChunk.class, SPacketJoinGame.class, SPacketRespawn.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        if (event.getTime() == PacketEvent.Time.Receive) {
+            Packet packet = event.getPacket();
+
+            if (packet instanceof SPacketBlockChange) {
+                this.updates.add(new ChunkIndex.Update(ChunkIndex.UpdateType.Block, ((SPacketBlockChange) packet).getBlockPosition().toLong()));
+            } else if (packet instanceof SPacketMultiBlockChange) {
+                SPacketMultiBlockChange.BlockUpdateData[] data = ((SPacketMultiBlockChange) packet).getChangedBlocks();
+
+                for (int i = 0; i < data.length; ++i) {
+                    this.updates.add(new ChunkIndex.Update(ChunkIndex.UpdateType.Block, data[i].getPos().toLong()));
+                }
+            } else if (packet instanceof SPacketExplosion) {
+                Iterator iterator = ((SPacketExplosion) packet).getAffectedBlockPositions().iterator();
+
+                while (iterator.hasNext()) {
+                    this.updates.add(new ChunkIndex.Update(ChunkIndex.UpdateType.Block, ((BlockPos) iterator.next()).toLong()));
+                }
+            } else if (packet instanceof SPacketChunkData) {
+                SPacketChunkData chunkData = (SPacketChunkData) packet;
+
+                this.updates.add(new ChunkIndex.Update(chunkData.isFullChunk() ? ChunkIndex.UpdateType.ChunkLoad : ChunkIndex.UpdateType.ChunkRefresh, ChunkPos.asLong(chunkData.getChunkX(), chunkData.getChunkZ())));
+            } else if (packet instanceof SPacketUnloadChunk) {
+                SPacketUnloadChunk unload = (SPacketUnloadChunk) packet;
+
+                this.updates.add(new ChunkIndex.Update(ChunkIndex.UpdateType.ChunkUnload, ChunkPos.asLong(unload.getX(), unload.getZ())));
+            } else if (packet instanceof SPacketJoinGame || packet instanceof SPacketRespawn) {
+                this.updates.add(new ChunkIndex.Update(ChunkIndex.UpdateType.Reset, 0L));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            if (NullUtils.nullCheck()) {
+                this.updates.clear();
+                this.settling.clear();
+                this.pendingChunks.clear();
+                this.chunks.clear();
+                this.world = null;
+            } else {
+                if (this.world != ChunkIndex.mc.world) {
+                    this.pendingChunks.clear();
+                    this.chunks.clear();
+                    this.world = ChunkIndex.mc.world;
+                }
+
+                this.processUpdates(this.settling);
+                this.settling = new ArrayList();
+
+                ChunkIndex.Update update;
+
+                while ((update = (ChunkIndex.Update) this.updates.poll()) != null) {
+                    if (update.type == ChunkIndex.UpdateType.Reset) {
+                        this.settling.clear();
+                    }
+
+                    this.settling.add(update);
+                }
+
+                this.buildPendingChunks();
+            }
+        }
+    }
+
+    void processUpdates(List toProcess) {
+        HashSet dirty = new HashSet();
+        Iterator iterator = toProcess.iterator();
+
+        while (iterator.hasNext()) {
+            ChunkIndex.Update update = (ChunkIndex.Update) iterator.next();
+
+            switch (update.type) {
+            case Block:
+                this.markDirty(dirty, BlockPos.fromLong(update.key));
+                break;
+
+            case ChunkLoad:
+                this.chunks.remove(Long.valueOf(update.key));
+                this.pendingChunks.add(Long.valueOf(update.key));
+                break;
+
+            case ChunkRefresh:
+                if (this.chunks.containsKey(Long.valueOf(update.key))) {
+                    this.pendingChunks.remove(Long.valueOf(update.key));
+                    this.buildChunk(getChunkX(update.key), getChunkZ(update.key));
+                } else {
+                    this.pendingChunks.add(Long.valueOf(update.key));
+                }
+
+                break;
+
+            case ChunkUnload:
+                this.pendingChunks.remove(Long.valueOf(update.key));
+                this.chunks.remove(Long.valueOf(update.key));
+                break;
+
+            case Reset:
+                dirty.clear();
+                this.pendingChunks.clear();
+                this.chunks.clear();
+            }
+        }
+
+        iterator = dirty.iterator();
+
+        while (iterator.hasNext()) {
+            this.refresh(BlockPos.fromLong(((Long) iterator.next()).longValue()));
+        }
+
+    }
+
+    void buildPendingChunks() {
+        int cells = 0;
+
+        while (cells < ChunkIndex.CELLS_PER_TICK && !this.pendingChunks.isEmpty()) {
+            int playerX = ChunkIndex.mc.player.chunkCoordX;
+            int playerZ = ChunkIndex.mc.player.chunkCoordZ;
+            Long nearest = null;
+            long nearestDist = Long.MAX_VALUE;
+            Iterator iterator = this.pendingChunks.iterator();
+
+            while (iterator.hasNext()) {
+                Long key = (Long) iterator.next();
+                long dx = (long) (getChunkX(key.longValue()) - playerX);
+                long dz = (long) (getChunkZ(key.longValue()) - playerZ);
+                long dist = dx * dx + dz * dz;
+
+                if (dist < nearestDist) {
+                    nearestDist = dist;
+                    nearest = key;
+                }
+            }
+
+            this.pendingChunks.remove(nearest);
+            cells += this.buildChunk(getChunkX(nearest.longValue()), getChunkZ(nearest.longValue()));
+        }
+
+    }
+
+    abstract void markDirty(Set dirty, BlockPos pos);
+
+    abstract int buildChunk(int chunkX, int chunkZ);
+
+    abstract void refresh(BlockPos pos);
+
+    Map getBucket(BlockPos pos) {
+        return (Map) this.chunks.get(Long.valueOf(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4)));
+    }
+
+    List getBuckets(double range, BlockPos center) {
+        ArrayList buckets = new ArrayList();
+        int minChunkX = (int) Math.floor(((double) center.getX() - range) / 16.0D);
+        int maxChunkX = (int) Math.floor(((double) center.getX() + range) / 16.0D);
+        int minChunkZ = (int) Math.floor(((double) center.getZ() - range) / 16.0D);
+        int maxChunkZ = (int) Math.floor(((double) center.getZ() + range) / 16.0D);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                Map bucket = (Map) this.chunks.get(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)));
+
+                if (bucket != null) {
+                    buckets.add(bucket);
+                }
+            }
+        }
+
+        return buckets;
+    }
+
+    public boolean isIndexed(BlockPos pos) {
+        return this.getBucket(pos) != null;
+    }
+
+    public boolean isIndexed(double range, BlockPos center) {
+        int minChunkX = (int) Math.floor(((double) center.getX() - range) / 16.0D);
+        int maxChunkX = (int) Math.floor(((double) center.getX() + range) / 16.0D);
+        int minChunkZ = (int) Math.floor(((double) center.getZ() - range) / 16.0D);
+        int maxChunkZ = (int) Math.floor(((double) center.getZ() + range) / 16.0D);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                if (!this.chunks.containsKey(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public int getIndexedCount() {
+        int count = 0;
+
+        for (Iterator iterator = this.chunks.values().iterator(); iterator.hasNext(); count += ((Map) iterator.next()).size()) {
+            ;
+        }
+
+        return count;
+    }
+
+    public static int getChunkX(long key) {
+        return (int) (key & 4294967295L);
+    }
+
+    public static int getChunkZ(long key) {
+        return (int) (key >>> 32 & 4294967295L);
+    }
+
+    static class Update {
+
+        ChunkIndex.UpdateType type;
+        long key;
+
+        Update(ChunkIndex.UpdateType type, long key) {
+            this.type = type;
+            this.key = key;
+        }
+    }
+
+    static enum UpdateType {
+
+        Block, ChunkLoad, ChunkRefresh, ChunkUnload, Reset;
+    }
+}
@@ -0,0 +1,94 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+
+public class CrystalManager extends ChunkIndex {
+
+    public static CrystalManager INSTANCE;
+
+    void markDirty(Set dirty, BlockPos pos) {
+        for (int y = 0; y <= 2; ++y) {
+            dirty.add(Long.valueOf(pos.down(y).toLong()));
+        }
+
+    }
+
+    int buildChunk(int chunkX, int chunkZ) {
+        Chunk chunk = CrystalManager.mc.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+
+        if (chunk != null && !chunk.isEmpty()) {
+            HashMap bucket = new HashMap();
+            int maxY = Math.min(chunk.getTopFilledSegment() + 16, 255);
+
+            for (int x = 0; x < 16; ++x) {
+                for (int z = 0; z < 16; ++z) {
+                    for (int y = 0; y < maxY; ++y) {
+                        if (isBase(chunk.getBlockState(x, y, z).getBlock()) && chunk.getBlockState(x, y + 1, z).getBlock() == Blocks.AIR) {
+                            bucket.put(Long.valueOf((new BlockPos((chunkX << 4) + x, y, (chunkZ << 4) + z)).toLong()), Boolean.valueOf(chunk.getBlockState(x, y + 2, z).getBlock() == Blocks.AIR));
+                        }
+                    }
+                }
+            }
+
+            this.chunks.put(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)), bucket);
+            return 256 * maxY;
+        } else {
+            this.chunks.remove(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)));
+            return 256;
+        }
+    }
+
+    void refresh(BlockPos pos) {
+        Map bucket = this.getBucket(pos);
+
+        if (bucket != null) {
+            Long key = Long.valueOf(pos.toLong());
+
+            if (isBase(CrystalManager.mc.world.getBlockState(pos).getBlock()) && CrystalManager.mc.world.getBlockState(pos.up()).getBlock() == Blocks.AIR) {
+                bucket.put(key, Boolean.valueOf(CrystalManager.mc.world.getBlockState(pos.up(2)).getBlock() == Blocks.AIR));
+            } else {
+                bucket.remove(key);
+            }
+
+        }
+    }
+
+    public List getBases(double range, BlockPos center, boolean oneThirteen) {
+        ArrayList bases = new ArrayList();
+        double rangeSq = range * range;
+        Iterator buckets = this.getBuckets(range, center).iterator();
+
+        while (buckets.hasNext()) {
+            Iterator iterator = ((Map) buckets.next()).entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Entry entry = (Entry) iterator.next();
+
+                if (oneThirteen || ((Boolean) entry.getValue()).booleanValue()) {
+                    BlockPos pos = BlockPos.fromLong(((Long) entry.getKey()).longValue());
+
+                    if (center.distanceSq(pos) < rangeSq) {
+                        bases.add(pos);
+                    }
+                }
+            }
+        }
+
+        return bases;
+    }
+
+    static boolean isBase(Block block) {
+        return block == Blocks.OBSIDIAN || block == Blocks.BEDROCK;
+    }
+}
@@ -0,0 +1,436 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.SharedMonsterAttributes;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.MobEffects;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.util.CombatRules;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.Explosion;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.BlockUpdateEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.utils.world.Raycaster;
+import tech.mmmax.kami.api.utils.world.WorldSnapshot;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class DamageManager implements IMinecraft {
+
+    public static DamageManager INSTANCE;
+    public static final double QUANTUM = 16.0D;
+    public static final int MAX_EXPOSURES = 16384;
+    public static final int EXPOSURE_LIFETIME = 100;
+    public static final int REACH = 16;
+    public static final DamageSource EXPLOSION = DamageSource.causeExplosionDamage((Explosion) null);
+    final Map exposures = new ConcurrentHashMap();
+    final Map versions = new ConcurrentHashMap();
+    final Map profiles = new ConcurrentHashMap();
+    final AtomicInteger size = new AtomicInteger();
+    final AtomicInteger clock = new AtomicInteger();
+    final Queue updates = new ConcurrentLinkedQueue();
+    List settling = new ArrayList();
+    volatile int base;
+    volatile int tick;
+
+    public DamageManager() {
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.HIGH
+    )
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            this.profiles.clear();
+            ++this.tick;
+            Iterator iterator = this.settling.iterator();
+
+            while (iterator.hasNext()) {
+                long key = ((Long) iterator.next()).longValue();
+
+                this.invalidateColumn(ChunkIndex.getChunkX(key), ChunkIndex.getChunkZ(key));
+            }
+
+            this.settling = new ArrayList();
+
+            Long update;
+
+            while ((update = (Long) this.updates.poll()) != null) {
+                this.settling.add(update);
+            }
+
+            if (this.tick % DamageManager.EXPOSURE_LIFETIME == 0) {
+                iterator = this.exposures.values().iterator();
+
+                while (iterator.hasNext()) {
+                    Iterator entries = ((Map) iterator.next()).values().iterator();
+
+                    while (entries.hasNext()) {
+                        DamageManager.Exposure exposure = (DamageManager.Exposure) entries.next();
+
+                        if (this.tick - exposure.lastTick > DamageManager.EXPOSURE_LIFETIME || !this.isCurrent((WorldSnapshot) null, exposure)) {
+                            entries.remove();
+                            this.size.decrementAndGet();
+                        }
+                    }
+                }
+            }
+
+        }
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketChunkData.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        SPacketChunkData packet = (SPacketChunkData) event.getPacket();
+
+        this.updates.add(Long.valueOf(ChunkPos.asLong(packet.getChunkX(), packet.getChunkZ())));
+    }
+
+    @Subscribe
+    public void onBlockUpdate(BlockUpdateEvent event) {
+        this.invalidate(event.getPos());
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld().isRemote) {
+            this.invalidateColumn(event.getChunk().x, event.getChunk().z);
+        }
+
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld().isRemote) {
+            this.invalidateColumn(event.getChunk().x, event.getChunk().z);
+        }
+
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld().isRemote) {
+            this.base = this.clock.incrementAndGet();
+            this.versions.clear();
+            this.clearExposures();
+            this.profiles.clear();
+        }
+
+    }
+
+    public void invalidate(BlockPos pos) {
+        this.versions.put(Long.valueOf(SnapshotManager.getKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4)), Integer.valueOf(this.clock.incrementAndGet()));
+    }
+
+    public void invalidateColumn(int chunkX, int chunkZ) {
+        int version = this.clock.incrementAndGet();
+
+        for (int y = 0; y < 16; ++y) {
+            this.versions.put(Long.valueOf(SnapshotManager.getKey(chunkX, y, chunkZ)), Integer.valueOf(version));
+        }
+
+    }
+
+    public int getVersion(int sectionX, int sectionY, int sectionZ) {
+        Integer version = (Integer) this.versions.get(Long.valueOf(SnapshotManager.getKey(sectionX, sectionY, sectionZ)));
+
+        return version == null ? this.base : version.intValue();
+    }
+
+    public float calculateDamage(double posX, double posY, double posZ, Entity entity, double moveFactor) {
+        boolean living = entity instanceof EntityLivingBase;
+
+        return this.calculateDamage((WorldSnapshot) null, posX, posY, posZ, entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor, entity.getEntityBoundingBox(), living ? this.getProfile((EntityLivingBase) entity) : null, living ? getDifficultyFactor() : 0.0F);
+    }
+
+    public float calculateDamage(WorldSnapshot snapshot, double posX, double posY, double posZ, WorldSnapshot.EntityState entity, double moveFactor) {
+        return this.calculateDamage(snapshot, posX, posY, posZ, entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor, entity.boundingBox, entity.profile, snapshot == null ? getDifficultyFactor() : snapshot.getDifficulty());
+    }
+
+    public float calculateDamage(WorldSnapshot snapshot, double posX, double posY, double posZ, WorldSnapshot.EntityState entity, double moveFactor, float exposure) {
+        return getDamage(posX, posY, posZ, entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor, exposure, entity.profile, snapshot == null ? getDifficultyFactor() : snapshot.getDifficulty());
+    }
+
+    float calculateDamage(WorldSnapshot snapshot, double posX, double posY, double posZ, double entityX, double entityY, double entityZ, AxisAlignedBB bb, DamageManager.ArmorProfile profile, float difficulty) {
+        return getDamage(posX, posY, posZ, entityX, entityY, entityZ, this.getExposure(snapshot, posX, posY, posZ, bb), profile, difficulty);
+    }
+
+    static float getDamage(double posX, double posY, double posZ, double entityX, double entityY, double entityZ, float exposure, DamageManager.ArmorProfile profile, float difficulty) {
+        double diffX = entityX - posX;
+        double diffY = entityY - posY;
+        double diffZ = entityZ - posZ;
+        double factor = (1.0D - Math.sqrt(diffX * diffX + diffY * diffY + diffZ * diffZ) / 12.0D) * (double) exposure;
+        float calculatedDamage = (float) ((int) ((factor * factor + factor) / 2.0D * 7.0D * 12.0D + 1.0D));
+
+        return profile != null ? profile.reduce(calculatedDamage * difficulty) : 1.0F;
+    }
+
+    public float getDamageBound(double posX, double posY, double posZ, Entity entity, double moveFactor) {
+        boolean living = entity instanceof EntityLivingBase;
+
+        return getDamageBound(posX, posY, posZ, entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor, living ? this.getProfile((EntityLivingBase) entity) : null, living ? getDifficultyFactor() : 0.0F);
+    }
+
+    public float getDamageBound(WorldSnapshot snapshot, double posX, double posY, double posZ, WorldSnapshot.EntityState entity, double moveFactor) {
+        return getDamageBound(posX, posY, posZ, entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor, entity.profile, snapshot == null ? getDifficultyFactor() : snapshot.getDifficulty());
+    }
+
+    static float getDamageBound(double posX, double posY, double posZ, double entityX, double entityY, double entityZ, DamageManager.ArmorProfile profile, float difficulty) {
+        double diffX = entityX - posX;
+        double diffY = entityY - posY;
+        double diffZ = entityZ - posZ;
+        double factor = 1.0D - Math.sqrt(diffX * diffX + diffY * diffY + diffZ * diffZ) / 12.0D;
+        float calculatedDamage = (float) ((int) ((factor * factor + factor) / 2.0D * 7.0D * 12.0D + 1.0D));
+
+        if (factor < 0.0D) {
+            calculatedDamage = Math.max(calculatedDamage, 1.0F) + 1.0F;
+        }
+
+        return profile != null ? profile.reduce(calculatedDamage * difficulty) : 1.0F;
+    }
+
+    public float getExposure(double posX, double posY, double posZ, AxisAlignedBB bb) {
+        return this.getExposure((WorldSnapshot) null, posX, posY, posZ, bb);
+    }
+
+    public float getExposure(WorldSnapshot snapshot, double posX, double posY, double posZ, AxisAlignedBB bb) {
+        DamageManager.ExposureKey key = new DamageManager.ExposureKey(quantize(posX), quantize(posY), quantize(posZ), quantize(bb.minX), quantize(bb.minY), quantize(bb.minZ), quantize(bb.maxX - bb.minX), quantize(bb.maxY - bb.minY), quantize(bb.maxZ - bb.minZ));
+        Long section = Long.valueOf(SnapshotManager.getKey(key.posX >> 8, key.posY >> 8, key.posZ >> 8));
+        Map entries = (Map) this.exposures.get(section);
+        DamageManager.Exposure exposure = entries == null ? null : (DamageManager.Exposure) entries.get(key);
+
+        if (exposure != null && !this.isCurrent(snapshot, exposure)) {
+            exposure = null;
+        }
+
+        if (exposure == null) {
+            Vec3d origin = new Vec3d((double) key.posX / DamageManager.QUANTUM, (double) key.posY / DamageManager.QUANTUM, (double) key.posZ / DamageManager.QUANTUM);
+            double minX = (double) key.minX / DamageManager.QUANTUM;
+            double minY = (double) key.minY / DamageManager.QUANTUM;
+            double minZ = (double) key.minZ / DamageManager.QUANTUM;
+            AxisAlignedBB box = new AxisAlignedBB(minX, minY, minZ, minX + (bb.maxX - bb.minX), minY + (bb.maxY - bb.minY), minZ + (bb.maxZ - bb.minZ));
+
+            exposure = new DamageManager.Exposure(origin, box, this.tick);
+            exposure.version = this.getVersion(exposure);
+            exposure.density = Raycaster.getBlockDensity(snapshot, origin, box);
+            if (exposure.isLocal() && (snapshot != null || DamageManager.mc.isCallingFromMinecraftThread()) && this.isCurrent(snapshot, exposure)) {
+                if (this.size.get() >= DamageManager.MAX_EXPOSURES) {
+                    this.clearExposures();
+                }
+
+                entries = (Map) this.exposures.computeIfAbsent(section, (k) -> {
+                    return new ConcurrentHashMap();
+                });
+                if (entries.put(key, exposure) == null) {
+                    this.size.incrementAndGet();
+                }
+
+                if (!this.isCurrent(snapshot, exposure) && entries.remove(key, exposure)) {
+                    this.size.decrementAndGet();
+                }
+            }
+        } else {
+            exposure.lastTick = this.tick;
+        }
+
+        return exposure.density;
+    }
+
+    boolean isCurrent(WorldSnapshot snapshot, DamageManager.Exposure exposure) {
+        for (int x = exposure.minX >> 4; x <= exposure.maxX >> 4; ++x) {
+            for (int y = Math.max(0, exposure.minY >> 4); y <= Math.min(15, exposure.maxY >> 4); ++y) {
+                for (int z = exposure.minZ >> 4; z <= exposure.maxZ >> 4; ++z) {
+                    int version = this.getVersion(x, y, z);
+
+                    if (version > exposure.version || snapshot != null && snapshot.getVersion(x, y, z) != version) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    int getVersion(DamageManager.Exposure exposure) {
+        int version = this.base;
+
+        for (int x = exposure.minX >> 4; x <= exposure.maxX >> 4; ++x) {
+            for (int y = Math.max(0, exposure.minY >> 4); y <= Math.min(15, exposure.maxY >> 4); ++y) {
+                for (int z = exposure.minZ >> 4; z <= exposure.maxZ >> 4; ++z) {
+                    version = Math.max(version, this.getVersion(x, y, z));
+                }
+            }
+        }
+
+        return version;
+    }
+
+    public void clearExposures() {
+        this.exposures.clear();
+        this.size.set(0);
+    }
+
+    public int getExposureCount() {
+        return this.size.get();
+    }
+
+    public DamageManager.ArmorProfile getProfile(EntityLivingBase entity) {
+        Integer key = Integer.valueOf(entity.getEntityId());
+        DamageManager.ArmorProfile profile = (DamageManager.ArmorProfile) this.profiles.get(key);
+
+        if (profile == null) {
+            profile = new DamageManager.ArmorProfile(entity);
+            this.profiles.put(key, profile);
+        }
+
+        return profile;
+    }
+
+    public static float getDifficultyFactor() {
+        int difficulty = DamageManager.mc.world.getDifficulty().getId();
+
+        return difficulty == 0 ? 0.0F : (difficulty == 2 ? 1.0F : (difficulty == 1 ? 0.5F : 1.5F));
+    }
+
+    static int quantize(double value) {
+        return (int) Math.floor(value * DamageManager.QUANTUM);
+    }
+
+    public static class ArmorProfile {
+
+        final boolean player;
+        final float armor;
+        final float toughness;
+        final float blastModifier;
+        final boolean resistance;
+
+        public ArmorProfile(EntityLivingBase entity) {
+            this.player = entity instanceof EntityPlayer;
+            this.armor = (float) entity.getTotalArmorValue();
+            this.toughness = (float) entity.getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).getAttributeValue();
+            this.blastModifier = 1.0F - MathHelper.clamp((float) EnchantmentHelper.getEnchantmentModifierDamage(entity.getArmorInventoryList(), DamageManager.EXPLOSION), 0.0F, 20.0F) / 25.0F;
+            this.resistance = entity.isPotionActive(MobEffects.RESISTANCE);
+        }
+
+        public float reduce(float damage) {
+            damage = CombatRules.getDamageAfterAbsorb(damage, this.armor, this.toughness);
+            if (this.player) {
+                damage *= this.blastModifier;
+                if (this.resistance) {
+                    damage -= damage / 4.0F;
+                }
+            }
+
+            return damage;
+        }
+    }
+
+    static class Exposure {
+
+        volatile float density;
+        volatile int version;
+        final int minX;
+        final int minY;
+        final int minZ;
+        final int maxX;
+        final int maxY;
+        final int maxZ;
+        volatile int lastTick;
+
+        Exposure(Vec3d origin, AxisAlignedBB box, int lastTick) {
+            this.minX = MathHelper.floor(Math.min(origin.x, box.minX)) - 1;
+            this.minY = MathHelper.floor(Math.min(origin.y, box.minY)) - 1;
+            this.minZ = MathHelper.floor(Math.min(origin.z, box.minZ)) - 1;
+            this.maxX = MathHelper.floor(Math.max(origin.x, box.maxX)) + 1;
+            this.maxY = MathHelper.floor(Math.max(origin.y, box.maxY)) + 1;
+            this.maxZ = MathHelper.floor(Math.max(origin.z, box.maxZ)) + 1;
+            this.lastTick = lastTick;
+        }
+
+        boolean isLocal() {
+            return this.maxX - this.minX <= DamageManager.REACH && this.maxY - this.minY <= DamageManager.REACH && this.maxZ - this.minZ <= DamageManager.REACH;
+        }
+    }
+
+    static class ExposureKey {
+
+        final int posX;
+        final int posY;
+        final int posZ;
+        final int minX;
+        final int minY;
+        final int minZ;
+        final int sizeX;
+        final int sizeY;
+        final int sizeZ;
+
+        ExposureKey(int posX, int posY, int posZ, int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+            this.posX = posX;
+            this.posY = posY;
+            this.posZ = posZ;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+        }
+
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof DamageManager.ExposureKey)) {
+                return false;
+            } else {
+                DamageManager.ExposureKey key = (DamageManager.ExposureKey) o;
+
+                return this.posX == key.posX && this.posY == key.posY && this.posZ == key.posZ && this.minX == key.minX && this.minY == key.minY && this.minZ == key.minZ && this.sizeX == key.sizeX && this.sizeY == key.sizeY && this.sizeZ == key.sizeZ;
+            }
+        }
+
+        public int hashCode() {
+            int hash = this.posX;
+
+            hash = hash * 31 + this.posY;
+            hash = hash * 31 + this.posZ;
+            hash = hash * 31 + this.minX;
+            hash = hash * 31 + this.minY;
+            hash = hash * 31 + this.minZ;
+            hash = hash * 31 + this.sizeX;
+            hash = hash * 31 + this.sizeY;
+            hash = hash * 31 + this.sizeZ;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.utils.NullUtils;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class EntityManager implements IMinecraft {
+
+    public static EntityManager INSTANCE;
+    public static final int CELL_SIZE = 8;
+    public static final double MOVE_MARGIN = 4.0D;
+    volatile EntityManager.Snapshot snapshot = new EntityManager.Snapshot();
+
+    public EntityManager() {
+        MinecraftForge.EVENT_BUS.register(this);
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.HIGHEST
+    )
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            if (NullUtils.nullCheck()) {
+                this.snapshot = new EntityManager.Snapshot();
+            } else {
+                this.rebuild();
+            }
+        }
+    }
+
+    public void rebuild() {
+        EntityManager.Snapshot next = new EntityManager.Snapshot();
+        Iterator iterator = EntityManager.mc.world.loadedEntityList.iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = (Entity) iterator.next();
+
+            next.add(EntityManager.Kind.getKind(entity), entity);
+        }
+
+        this.snapshot = next;
+    }
+
+    public List getEntities(EntityManager.Kind kind) {
+        return Collections.unmodifiableList(this.snapshot.all[kind.ordinal()]);
+    }
+
+    public List getEntities(EntityManager.Kind kind, double x, double y, double z, double range) {
+        ArrayList found = new ArrayList();
+        EntityManager.Snapshot current = this.snapshot;
+        double rangeSq = range * range;
+        double searchRange = range + EntityManager.MOVE_MARGIN;
+        int minX = getCell(x - searchRange);
+        int maxX = getCell(x + searchRange);
+        int minZ = getCell(z - searchRange);
+        int maxZ = getCell(z + searchRange);
+
+        for (int cellX = minX; cellX <= maxX; ++cellX) {
+            for (int cellZ = minZ; cellZ <= maxZ; ++cellZ) {
+                List cell = current.getCell(kind, cellX, cellZ);
+
+                if (cell != null) {
+                    for (int i = 0; i < cell.size(); ++i) {
+                        Entity entity = (Entity) cell.get(i);
+
+                        if (entity.getDistanceSq(x, y, z) <= rangeSq) {
+                            found.add(entity);
+                        }
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    public List getEntities(EntityManager.Kind kind, Entity center, double range) {
+        return this.getEntities(kind, center.posX, center.posY, center.posZ, range);
+    }
+
+    public Entity getNearest(EntityManager.Kind kind, Entity center, double range, Predicate filter) {
+        Entity nearest = null;
+        double nearestDist = Double.MAX_VALUE;
+        Iterator iterator = this.getEntities(kind, center, range).iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = (Entity) iterator.next();
+            double dist = center.getDistanceSq(entity);
+
+            if (dist < nearestDist && filter.test(entity)) {
+                nearestDist = dist;
+                nearest = entity;
+            }
+        }
+
+        return nearest;
+    }
+
+    public List getNearest(EntityManager.Kind kind, Entity center, double range, int count, Predicate filter) {
+        ArrayList found = new ArrayList();
+        Iterator iterator = this.getEntities(kind, center, range).iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = (Entity) iterator.next();
+
+            if (filter.test(entity)) {
+                found.add(entity);
+            }
+        }
+
+        found.sort(Comparator.comparingDouble((entity) -> {
+            return center.getDistanceSq((Entity) entity);
+        }));
+        return found.size() > count ? new ArrayList(found.subList(0, count)) : found;
+    }
+
+    static int getCell(double coord) {
+        return (int) Math.floor(coord / (double) EntityManager.CELL_SIZE);
+    }
+
+    static long getCellKey(int cellX, int cellZ) {
+        return (long) cellX & 4294967295L | ((long) cellZ & 4294967295L) << 32;
+    }
+
+    public static enum Kind {
+
+        Player, Crystal, Projectile, Item, Other;
+
+        public static EntityManager.Kind getKind(Entity entity) {
+            return entity instanceof EntityPlayer ? EntityManager.Kind.Player : (entity instanceof EntityEnderCrystal ? EntityManager.Kind.Crystal : (entity instanceof IProjectile ? EntityManager.Kind.Projectile : (entity instanceof EntityItem ? EntityManager.Kind.Item : EntityManager.Kind.Other)));
+        }
+    }
+
+    static class Snapshot {
+
+        final List[] all = new List[EntityManager.Kind.values().length];
+        final Map[] cells = new Map[EntityManager.Kind.values().length];
+
+        Snapshot() {
+            for (int i = 0; i < this.all.length; ++i) {
+                this.all[i] = new ArrayList();
+                this.cells[i] = new HashMap();
+            }
+
+        }
+
+        void add(EntityManager.Kind kind, Entity entity) {
+            Long key = Long.valueOf(EntityManager.getCellKey(EntityManager.getCell(entity.posX), EntityManager.getCell(entity.posZ)));
+            List cell = (List) this.cells[kind.ordinal()].get(key);
+
+            if (cell == null) {
+                cell = new ArrayList();
+                this.cells[kind.ordinal()].put(key, cell);
+            }
+
+            cell.add(entity);
+            this.all[kind.ordinal()].add(entity);
+        }
+
+        List getCell(EntityManager.Kind kind, int cellX, int cellZ) {
+            return (List) this.cells[kind.ordinal()].get(Long.valueOf(EntityManager.getCellKey(cellX, cellZ)));
+        }
+    }
+}
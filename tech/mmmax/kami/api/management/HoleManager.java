@@ -0,0 +1,119 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import tech.mmmax.kami.api.utils.world.BlockCache;
+import tech.mmmax.kami.api.utils.world.HoleUtils;
+
+public class HoleManager extends ChunkIndex {
+
+    public static HoleManager INSTANCE;
+
+    void markDirty(Set dirty, BlockPos pos) {
+        for (int x = -2; x <= 2; ++x) {
+            for (int y = -2; y <= 1; ++y) {
+                for (int z = -2; z <= 2; ++z) {
+                    dirty.add(Long.valueOf(pos.add(x, y, z).toLong()));
+                }
+            }
+        }
+
+    }
+
+    int buildChunk(int chunkX, int chunkZ) {
+        Chunk chunk = HoleManager.mc.world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+
+        if (chunk != null && !chunk.isEmpty()) {
+            HashMap bucket = new HashMap();
+            int maxY = Math.min(chunk.getTopFilledSegment() + 16, 255);
+            int cells = 256 * maxY;
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+            this.chunks.put(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)), bucket);
+
+            for (int x = 0; x < 16; ++x) {
+                for (int z = 0; z < 16; ++z) {
+                    Block below = chunk.getBlockState(x, 0, z).getBlock();
+
+                    for (int y = 1; y < maxY; ++y) {
+                        Block block = chunk.getBlockState(x, y, z).getBlock();
+
+                        if (block == Blocks.AIR && HoleUtils.isSafeBlock(below)) {
+                            this.classify(bucket, pos.setPos((chunkX << 4) + x, y, (chunkZ << 4) + z));
+                        }
+
+                        below = block;
+                    }
+                }
+            }
+
+            for (int x = (chunkX << 4) - 2; x < (chunkX << 4) + 18; ++x) {
+                for (int z = (chunkZ << 4) - 2; z < (chunkZ << 4) + 18; ++z) {
+                    if ((x >> 4 != chunkX || z >> 4 != chunkZ) && this.chunks.containsKey(Long.valueOf(ChunkPos.asLong(x >> 4, z >> 4)))) {
+                        cells += maxY;
+
+                        for (int y = 1; y < maxY; ++y) {
+                            this.refresh(pos.setPos(x, y, z));
+                        }
+                    }
+                }
+            }
+
+            return cells;
+        } else {
+            this.chunks.remove(Long.valueOf(ChunkPos.asLong(chunkX, chunkZ)));
+            return 256;
+        }
+    }
+
+    void refresh(BlockPos pos) {
+        Map bucket = this.getBucket(pos);
+
+        if (bucket != null) {
+            bucket.remove(Long.valueOf(pos.toLong()));
+            if (BlockCache.getBlockState(pos).getBlock() == Blocks.AIR && HoleUtils.isSafeBlock(BlockCache.getBlockState(pos.down()).getBlock())) {
+                this.classify(bucket, pos);
+            }
+
+        }
+    }
+
+    void classify(Map bucket, BlockPos pos) {
+        HoleUtils.Hole hole = HoleUtils.getHole(pos, true);
+
+        if (hole != null) {
+            hole.pos1 = hole.pos1.toImmutable();
+            bucket.put(Long.valueOf(hole.pos1.toLong()), hole);
+        }
+
+    }
+
+    public List getHoles(double range, BlockPos center, boolean doubles) {
+        ArrayList holes = new ArrayList();
+        double rangeSq = range * range;
+        Iterator buckets = this.getBuckets(range, center).iterator();
+
+        while (buckets.hasNext()) {
+            Iterator iterator = ((Map) buckets.next()).values().iterator();
+
+            while (iterator.hasNext()) {
+                HoleUtils.Hole hole = (HoleUtils.Hole) iterator.next();
+
+                if ((doubles || !hole.doubleHole) && center.distanceSq(hole.pos1) < rangeSq) {
+                    holes.add(hole);
+                }
+            }
+        }
+
+        return holes;
+    }
+}
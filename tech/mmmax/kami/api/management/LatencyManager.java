@@ -0,0 +1,180 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.init.SoundEvents;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketBlockChange;
+import net.minecraft.network.play.server.SPacketMultiBlockChange;
+import net.minecraft.network.play.server.SPacketSoundEffect;
+import net.minecraft.network.play.server.SPacketSpawnObject;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class LatencyManager implements IMinecraft {
+
+    public static LatencyManager INSTANCE;
+    public static final long TIMEOUT = 2000000000L;
+    public static final long BURST = 50000000L;
+    public static final int SAMPLES = 64;
+    final Map[] pending = new Map[LatencyManager.Action.values().length];
+    final LatencyManager.Samples[] samples = new LatencyManager.Samples[LatencyManager.Action.values().length];
+
+    public LatencyManager() {
+        for (int i = 0; i < this.pending.length; ++i) {
+            this.pending[i] = new ConcurrentHashMap();
+            this.samples[i] = new LatencyManager.Samples();
+        }
+
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    public void onAction(LatencyManager.Action action, long key) {
+        long now = System.nanoTime();
+
+        this.pending[action.ordinal()].compute(Long.valueOf(key), (k, value) -> {
+            long[] sent = (long[]) value;
+
+            if (sent != null && now - sent[1] <= LatencyManager.TIMEOUT) {
+                return now - sent[1] <= LatencyManager.BURST ? new long[] { sent[0], now, sent[2]} : new long[] { sent[0], now, 1L};
+            } else {
+                return new long[] { now, now, 0L};
+            }
+        });
+    }
+
+    public void onAttack(double x, double y, double z) {
+        this.onAction(LatencyManager.Action.Attack, getKey(x, y, z));
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketSpawnObject.class, SPacketSoundEffect.class, SPacketBlockChange.class, SPacketMultiBlockChange.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        long now = System.nanoTime();
+        Packet packet = event.getPacket();
+
+        if (packet instanceof SPacketSpawnObject) {
+            SPacketSpawnObject spawn = (SPacketSpawnObject) packet;
+
+            if (spawn.getType() == 51) {
+                this.confirm(LatencyManager.Action.Place, getKey(spawn.getX(), spawn.getY() - 1.0D, spawn.getZ()), now);
+            }
+        } else if (packet instanceof SPacketSoundEffect) {
+            SPacketSoundEffect sound = (SPacketSoundEffect) packet;
+
+            if (sound.getSound() == SoundEvents.ENTITY_GENERIC_EXPLODE) {
+                this.confirm(LatencyManager.Action.Attack, getKey(sound.getX(), sound.getY(), sound.getZ()), now);
+            }
+        } else if (packet instanceof SPacketBlockChange) {
+            this.confirm(LatencyManager.Action.Block, ((SPacketBlockChange) packet).getBlockPosition().toLong(), now);
+        } else if (packet instanceof SPacketMultiBlockChange) {
+            SPacketMultiBlockChange.BlockUpdateData[] data = ((SPacketMultiBlockChange) packet).getChangedBlocks();
+
+            for (int i = 0; i < data.length; ++i) {
+                this.confirm(LatencyManager.Action.Block, data[i].getPos().toLong(), now);
+            }
+        }
+
+    }
+
+    @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            long now = System.nanoTime();
+
+            for (int i = 0; i < this.pending.length; ++i) {
+                this.pending[i].values().removeIf((sent) -> {
+                    return now - ((long[]) sent)[1] > LatencyManager.TIMEOUT;
+                });
+            }
+        }
+
+    }
+
+    void confirm(LatencyManager.Action action, long key, long now) {
+        long[] sent = (long[]) this.pending[action.ordinal()].remove(Long.valueOf(key));
+
+        if (sent != null && sent[2] == 0L && now - sent[0] <= LatencyManager.TIMEOUT) {
+            this.samples[action.ordinal()].add((now - sent[0]) / 1000000L);
+        }
+
+    }
+
+    public long getPercentile(LatencyManager.Action action, double percentile) {
+        return this.samples[action.ordinal()].getPercentile(percentile);
+    }
+
+    public int getSampleCount(LatencyManager.Action action) {
+        return this.samples[action.ordinal()].getCount();
+    }
+
+    public long getDelay(LatencyManager.Action action, String mode, long fallback) {
+        long delay = mode.equalsIgnoreCase("P90") ? this.getPercentile(action, 0.9D) : (mode.equalsIgnoreCase("P50") ? this.getPercentile(action, 0.5D) : -1L);
+
+        return delay < 0L ? fallback : delay;
+    }
+
+    public void reset() {
+        for (int i = 0; i < this.samples.length; ++i) {
+            this.samples[i].reset();
+        }
+
+    }
+
+    static long getKey(double x, double y, double z) {
+        return (new BlockPos(MathHelper.floor(x), MathHelper.floor(y), MathHelper.floor(z))).toLong();
+    }
+
+    public static enum Action {
+
+        Place, Attack, Block;
+    }
+
+    public static class Samples {
+
+        final long[] values = new long[LatencyManager.SAMPLES];
+        volatile long[] sorted = new long[0];
+        int count;
+        int index;
+
+        synchronized void add(long value) {
+            this.values[this.index] = value;
+            this.index = (this.index + 1) % this.values.length;
+            this.count = Math.min(this.count + 1, this.values.length);
+            long[] sorted = Arrays.copyOf(this.values, this.count);
+
+            Arrays.sort(sorted);
+            this.sorted = sorted;
+        }
+
+        public long getPercentile(double percentile) {
+            long[] sorted = this.sorted;
+
+            return sorted.length == 0 ? -1L : sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(percentile * (double) sorted.length) - 1))];
+        }
+
+        public int getCount() {
+            return this.sorted.length;
+        }
+
+        synchronized void reset() {
+            this.count = 0;
+            this.index = 0;
+            this.sorted = new long[0];
+        }
+    }
+}
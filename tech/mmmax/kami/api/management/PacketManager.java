@@ -0,0 +1,581 @@
+package tech.mmmax.kami.api.management;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.client.CPacketEntityAction;
+import net.minecraft.network.play.client.CPacketAnimation;
+import net.minecraft.network.play.client.CPacketClientSettings;
+import net.minecraft.network.play.client.CPacketConfirmTeleport;
+import net.minecraft.network.play.client.CPacketConfirmTransaction;
+import net.minecraft.network.play.client.CPacketHeldItemChange;
+import net.minecraft.network.play.client.CPacketInput;
+import net.minecraft.network.play.client.CPacketKeepAlive;
+import net.minecraft.network.play.client.CPacketPlayer;
+import net.minecraft.network.play.client.CPacketPlayerDigging;
+import net.minecraft.network.play.client.CPacketPlayerTryUseItem;
+import net.minecraft.network.play.client.CPacketPlayerTryUseItemOnBlock;
+import net.minecraft.network.play.client.CPacketSteerBoat;
+import net.minecraft.network.play.client.CPacketTabComplete;
+import net.minecraft.network.play.client.CPacketUseEntity;
+import net.minecraft.network.play.client.CPacketVehicleMove;
+import net.minecraft.network.play.client.CPacketEntityAction.Action;
+import net.minecraft.network.play.server.SPacketHeldItemChange;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.utils.network.InboundFilter;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+import tech.mmmax.kami.api.utils.network.PacketRecorder;
+import tech.mmmax.kami.api.utils.network.PacketReplay;
+import tech.mmmax.kami.api.utils.network.PacketTemplate;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class PacketManager implements IMinecraft {
+
+    public static PacketManager INSTANCE;
+    public static final String BATCHER = "kami_batcher";
+    final List held = new ArrayList();
+    NetworkManager networkManager;
+    boolean holding;
+    boolean flushing;
+    boolean coalescing;
+    volatile boolean serverSneaking;
+    volatile int serverSlot = -1;
+    long coalesced;
+    int lastCoalesced;
+    final Set criticalTypes = Collections.newSetFromMap(new ConcurrentHashMap());
+    final Set criticalPackets = Collections.newSetFromMap(new ConcurrentHashMap());
+    final LongAdder written = new LongAdder();
+    final LongAdder flushes = new LongAdder();
+    final LongAdder deferred = new LongAdder();
+    volatile boolean batching;
+    PacketManager.FlushBatcher batcher;
+    final ArrayDeque[] deferredPackets = createQueues();
+    volatile boolean limiting;
+    int rate = 80;
+    int burst = 40;
+    double tokens;
+    long lastRefill;
+    long limitDeferred;
+    long limitDropped;
+
+    public PacketManager() {
+        this.setLatencyCritical(CPacketKeepAlive.class);
+        this.setLatencyCritical(CPacketConfirmTransaction.class);
+        this.setLatencyCritical(CPacketConfirmTeleport.class);
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.HIGHEST
+    )
+    public void onTickStart(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            NetHandlerPlayClient connection = PacketManager.mc.getConnection();
+
+            if (connection == null) {
+                if (this.networkManager != null) {
+                    PacketReplay.onDisconnect();
+                }
+
+                this.holding = false;
+                this.networkManager = null;
+                this.batcher = null;
+                this.held.clear();
+                this.clearDeferred();
+                this.criticalPackets.clear();
+                this.serverSneaking = false;
+                this.serverSlot = -1;
+            } else {
+                if (this.networkManager != connection.getNetworkManager()) {
+                    this.networkManager = connection.getNetworkManager();
+                    this.batcher = null;
+                    this.held.clear();
+                    this.clearDeferred();
+                    this.criticalPackets.clear();
+                    this.serverSneaking = false;
+                    this.serverSlot = -1;
+                    if (this.networkManager.isChannelOpen()) {
+                        InboundFilter.install(this.networkManager.channel());
+                        PacketMetrics.install(this.networkManager.channel());
+                        PacketRecorder.install(this.networkManager.channel());
+                        PacketTemplate.install(this.networkManager.channel());
+                    }
+                }
+
+                this.drain();
+                this.holding = this.coalescing;
+                if (this.batching && this.networkManager.isChannelOpen()) {
+                    if (this.batcher == null) {
+                        this.batcher = this.installBatcher(this.networkManager.channel());
+                    }
+
+                    this.batcher.open();
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.LOWEST
+    )
+    public void onTickEnd(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            this.flush();
+            this.drain();
+            if (this.batcher != null) {
+                this.batcher.close();
+            }
+        }
+
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketHeldItemChange.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        this.serverSlot = ((SPacketHeldItemChange) event.getPacket()).getHeldItemHotbarIndex();
+    }
+
+    public boolean hold(NetworkManager networkManager, Packet packet) {
+        if (!PacketManager.mc.isCallingFromMinecraftThread()) {
+            if (this.batching) {
+                this.criticalPackets.add(packet);
+            }
+
+            return this.limiting && networkManager == this.networkManager && !this.admit(packet);
+        } else if (this.holding && !this.flushing && networkManager == this.networkManager) {
+            this.held.add(packet);
+            return true;
+        } else {
+            return this.limiting && !this.flushing && networkManager == this.networkManager && !this.admit(packet);
+        }
+    }
+
+    public void onSent(NetworkManager networkManager, Packet packet) {
+        if (networkManager == this.networkManager) {
+            if (packet instanceof CPacketEntityAction) {
+                Action action = ((CPacketEntityAction) packet).getAction();
+
+                if (action == Action.START_SNEAKING) {
+                    this.serverSneaking = true;
+                } else if (action == Action.STOP_SNEAKING) {
+                    this.serverSneaking = false;
+                }
+            } else if (packet instanceof CPacketHeldItemChange) {
+                this.serverSlot = ((CPacketHeldItemChange) packet).getSlotId();
+            }
+
+        }
+    }
+
+    public void flush() {
+        this.holding = false;
+        if (!this.held.isEmpty()) {
+            List packets = this.coalesce(this.held);
+
+            this.lastCoalesced = this.held.size() - packets.size();
+            this.coalesced += (long) this.lastCoalesced;
+            if (this.lastCoalesced > 0) {
+                for (int i = 0; i < this.held.size(); ++i) {
+                    if (!packets.contains(this.held.get(i))) {
+                        this.forget((Packet) this.held.get(i));
+                    }
+                }
+            }
+
+            this.held.clear();
+            if (this.networkManager != null && this.networkManager.isChannelOpen()) {
+                this.flushing = true;
+
+                try {
+                    for (int i = 0; i < packets.size(); ++i) {
+                        Packet packet = (Packet) packets.get(i);
+
+                        if (!this.limiting || this.admit(packet)) {
+                            this.networkManager.sendPacket(packet);
+                        }
+                    }
+                } finally {
+                    this.flushing = false;
+                }
+            }
+
+        } else {
+            this.lastCoalesced = 0;
+        }
+    }
+
+    synchronized boolean admit(Packet packet) {
+        PacketManager.Priority priority = getPriority(packet);
+
+        this.refill();
+        if (priority == null) {
+            --this.tokens;
+            return true;
+        } else if (this.getQueued(priority) == 0 && this.tokens >= priority.getThreshold(this.burst)) {
+            --this.tokens;
+            return true;
+        } else {
+            if (priority == PacketManager.Priority.Cosmetic) {
+                this.forget(packet);
+                ++this.limitDropped;
+            } else {
+                this.deferredPackets[priority.ordinal()].add(packet);
+                ++this.limitDeferred;
+            }
+
+            return false;
+        }
+    }
+
+    public void drain() {
+        if (this.networkManager != null && this.networkManager.isChannelOpen()) {
+            this.flushing = true;
+
+            try {
+                Packet packet;
+
+                while ((packet = this.poll()) != null) {
+                    this.networkManager.sendPacket(packet);
+                }
+            } finally {
+                this.flushing = false;
+            }
+
+        }
+    }
+
+    synchronized Packet poll() {
+        this.refill();
+
+        for (int i = 0; i < this.deferredPackets.length; ++i) {
+            if (!this.deferredPackets[i].isEmpty()) {
+                if (this.limiting && this.tokens < PacketManager.Priority.values()[i].getThreshold(this.burst)) {
+                    return null;
+                }
+
+                --this.tokens;
+                return (Packet) this.deferredPackets[i].poll();
+            }
+        }
+
+        return null;
+    }
+
+    int getQueued(PacketManager.Priority priority) {
+        int queued = 0;
+
+        for (int i = 0; i <= priority.ordinal(); ++i) {
+            queued += this.deferredPackets[i].size();
+        }
+
+        return queued;
+    }
+
+    void refill() {
+        long now = System.nanoTime();
+
+        if (this.lastRefill != 0L) {
+            this.tokens = Math.min((double) this.burst, this.tokens + (double) (now - this.lastRefill) * (double) this.rate / 1.0E9D);
+        } else {
+            this.tokens = (double) this.burst;
+        }
+
+        this.lastRefill = now;
+    }
+
+    synchronized void clearDeferred() {
+        for (int i = 0; i < this.deferredPackets.length; ++i) {
+            this.deferredPackets[i].clear();
+        }
+
+    }
+
+    public synchronized int getBudget(PacketManager.Priority priority) {
+        if (!this.limiting) {
+            return Integer.MAX_VALUE;
+        } else {
+            this.refill();
+            return Math.max(0, (int) Math.floor(this.tokens - priority.getThreshold(this.burst)) + 1 - this.getQueued(priority) - (PacketManager.mc.isCallingFromMinecraftThread() ? this.held.size() : 0));
+        }
+    }
+
+    public boolean isLimiting() {
+        return this.limiting;
+    }
+
+    public void setLimiting(boolean limiting, int rate, int burst) {
+        this.limiting = limiting;
+        this.rate = rate;
+        this.burst = burst;
+    }
+
+    public synchronized int getDeferredCount() {
+        return this.getQueued(PacketManager.Priority.Cosmetic);
+    }
+
+    public long getLimitDeferred() {
+        return this.limitDeferred;
+    }
+
+    public long getLimitDropped() {
+        return this.limitDropped;
+    }
+
+    public static PacketManager.Priority getPriority(Packet packet) {
+        return !(packet instanceof CPacketKeepAlive) && !(packet instanceof CPacketConfirmTransaction) ? (!(packet instanceof CPacketUseEntity) && !(packet instanceof CPacketPlayerTryUseItemOnBlock) && !(packet instanceof CPacketPlayerTryUseItem) && !(packet instanceof CPacketPlayerDigging) && !(packet instanceof CPacketConfirmTeleport) ? (!(packet instanceof CPacketPlayer) && !(packet instanceof CPacketEntityAction) && !(packet instanceof CPacketInput) && !(packet instanceof CPacketVehicleMove) && !(packet instanceof CPacketSteerBoat) ? (!(packet instanceof CPacketAnimation) && !(packet instanceof CPacketClientSettings) && !(packet instanceof CPacketTabComplete) ? PacketManager.Priority.Inventory : PacketManager.Priority.Cosmetic) : PacketManager.Priority.Movement) : PacketManager.Priority.Critical) : null;
+    }
+
+    PacketManager.FlushBatcher installBatcher(Channel channel) {
+        PacketManager.FlushBatcher batcher = (PacketManager.FlushBatcher) channel.pipeline().get(PacketManager.BATCHER);
+
+        if (batcher == null) {
+            batcher = new PacketManager.FlushBatcher(this, channel);
+            channel.pipeline().addLast(PacketManager.BATCHER, batcher);
+        }
+
+        return batcher;
+    }
+
+    public void setLatencyCritical(Class type) {
+        this.criticalTypes.add(type);
+    }
+
+    public void markLatencyCritical(Packet packet) {
+        if (this.batching) {
+            this.criticalPackets.add(packet);
+        }
+
+    }
+
+    public void forget(Packet packet) {
+        this.criticalPackets.remove(packet);
+    }
+
+    boolean isLatencyCritical(Packet packet) {
+        return this.criticalPackets.remove(packet) || this.criticalTypes.contains(packet.getClass());
+    }
+
+    List coalesce(List packets) {
+        ArrayList out = new ArrayList(packets.size());
+        boolean sneaking = this.serverSneaking;
+        int slot = this.serverSlot;
+
+        for (int i = 0; i < packets.size(); ++i) {
+            Packet packet = (Packet) packets.get(i);
+            Packet last = out.isEmpty() ? null : (Packet) out.get(out.size() - 1);
+
+            if (isSneakAction(packet)) {
+                boolean start = ((CPacketEntityAction) packet).getAction() == Action.START_SNEAKING;
+
+                if (isSneakAction(last) && ((CPacketEntityAction) last).getAction() != ((CPacketEntityAction) packet).getAction() && getSneakState(out, out.size() - 1, sneaking) == start) {
+                    out.remove(out.size() - 1);
+                    continue;
+                }
+            } else if (packet instanceof CPacketHeldItemChange) {
+                if (last instanceof CPacketHeldItemChange) {
+                    out.remove(out.size() - 1);
+                }
+
+                if (getHeldSlot(out, slot) == ((CPacketHeldItemChange) packet).getSlotId()) {
+                    continue;
+                }
+            }
+
+            out.add(packet);
+        }
+
+        return out;
+    }
+
+    public boolean isHolding() {
+        return this.holding && PacketManager.mc.isCallingFromMinecraftThread();
+    }
+
+    public boolean isFlushing() {
+        return this.flushing && PacketManager.mc.isCallingFromMinecraftThread();
+    }
+
+    public boolean isCoalescing() {
+        return this.coalescing;
+    }
+
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public boolean isBatching() {
+        return this.batching;
+    }
+
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
+    public long getWritten() {
+        return this.written.sum();
+    }
+
+    public long getFlushes() {
+        return this.flushes.sum();
+    }
+
+    public long getDeferred() {
+        return this.deferred.sum();
+    }
+
+    public long getCoalesced() {
+        return this.coalesced;
+    }
+
+    public int getLastCoalesced() {
+        return this.lastCoalesced;
+    }
+
+    public void resetCounters() {
+        this.coalesced = 0L;
+        this.written.reset();
+        this.flushes.reset();
+        this.deferred.reset();
+        this.limitDeferred = 0L;
+        this.limitDropped = 0L;
+    }
+
+    static ArrayDeque[] createQueues() {
+        ArrayDeque[] queues = new ArrayDeque[PacketManager.Priority.values().length];
+
+        for (int i = 0; i < queues.length; ++i) {
+            queues[i] = new ArrayDeque();
+        }
+
+        return queues;
+    }
+
+    static boolean isSneakAction(Packet packet) {
+        if (!(packet instanceof CPacketEntityAction)) {
+            return false;
+        } else {
+            Action action = ((CPacketEntityAction) packet).getAction();
+
+            return action == Action.START_SNEAKING || action == Action.STOP_SNEAKING;
+        }
+    }
+
+    static boolean getSneakState(List packets, int before, boolean initial) {
+        for (int i = before - 1; i >= 0; --i) {
+            if (isSneakAction((Packet) packets.get(i))) {
+                return ((CPacketEntityAction) packets.get(i)).getAction() == Action.START_SNEAKING;
+            }
+        }
+
+        return initial;
+    }
+
+    static int getHeldSlot(List packets, int initial) {
+        for (int i = packets.size() - 1; i >= 0; --i) {
+            if (packets.get(i) instanceof CPacketHeldItemChange) {
+                return ((CPacketHeldItemChange) packets.get(i)).getSlotId();
+            }
+        }
+
+        return initial;
+    }
+
+    public static enum Priority {
+
+        Critical(0.0D), Movement(0.1D), Inventory(0.25D), Cosmetic(0.5D);
+
+        final double reserve;
+
+        private Priority(double reserve) {
+            this.reserve = reserve;
+        }
+
+        public double getThreshold(int burst) {
+            return 1.0D + this.reserve * (double) burst;
+        }
+    }
+
+    public static class FlushBatcher extends ChannelOutboundHandlerAdapter {
+
+        final PacketManager manager;
+        final Channel channel;
+        ChannelHandlerContext context;
+        boolean window;
+        boolean critical;
+        boolean pending;
+
+        FlushBatcher(PacketManager manager, Channel channel) {
+            this.manager = manager;
+            this.channel = channel;
+        }
+
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            this.context = ctx;
+        }
+
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (msg instanceof Packet) {
+                this.manager.written.increment();
+                if (this.manager.isLatencyCritical((Packet) msg)) {
+                    this.critical = true;
+                }
+            }
+
+            ctx.write(msg, promise);
+        }
+
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            if (this.window && !this.critical) {
+                this.pending = true;
+                this.manager.deferred.increment();
+            } else {
+                this.critical = false;
+                this.pending = false;
+                this.manager.flushes.increment();
+                ctx.flush();
+            }
+
+        }
+
+        void open() {
+            this.channel.eventLoop().execute(() -> {
+                this.window = true;
+            });
+        }
+
+        void close() {
+            this.channel.eventLoop().execute(() -> {
+                this.window = false;
+                if (this.pending && this.context != null) {
+                    this.pending = false;
+                    this.manager.flushes.increment();
+                    this.context.flush();
+                }
+
+            });
+        }
+    }
+}
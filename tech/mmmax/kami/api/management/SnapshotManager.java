@@ -0,0 +1,255 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.network.play.server.SPacketUnloadChunk;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.BlockUpdateEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.utils.NullUtils;
+import tech.mmmax.kami.api.utils.world.RegionSnapshot;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class SnapshotManager implements IMinecraft {
+
+    public static SnapshotManager INSTANCE;
+    public static final int RADIUS = 2;
+    public static final int VERTICAL = 2;
+    public static final int SIZE = SnapshotManager.RADIUS * 2 + 1;
+    public static final int SECTIONS_PER_TICK = 16;
+    static final int[][] offsets = createOffsets();
+    final Queue updates = new ConcurrentLinkedQueue();
+    List settling = new ArrayList();
+    final Map sections = new HashMap();
+    final Map versions = new HashMap();
+    final LongAdder built = new LongAdder();
+    final LongAdder shared = new LongAdder();
+    volatile RegionSnapshot snapshot;
+    WorldClient world;
+    boolean changed;
+    int fresh;
+    int centerX;
+    int centerZ;
+    int ticks;
+
+    public SnapshotManager() {
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketChunkData.class, SPacketUnloadChunk.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        Packet packet = event.getPacket();
+
+        if (packet instanceof SPacketChunkData) {
+            this.updates.add(Long.valueOf(ChunkPos.asLong(((SPacketChunkData) packet).getChunkX(), ((SPacketChunkData) packet).getChunkZ())));
+        } else if (packet instanceof SPacketUnloadChunk) {
+            this.updates.add(Long.valueOf(ChunkPos.asLong(((SPacketUnloadChunk) packet).getX(), ((SPacketUnloadChunk) packet).getZ())));
+        }
+
+    }
+
+    @Subscribe
+    public void onBlockUpdate(BlockUpdateEvent event) {
+        BlockPos pos = event.getPos();
+
+        if (this.sections.remove(Long.valueOf(getKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4))) != null) {
+            this.changed = true;
+        }
+
+    }
+
+    @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            ++this.ticks;
+            if (NullUtils.nullCheck()) {
+                this.sections.clear();
+                this.versions.clear();
+                this.settling.clear();
+                this.snapshot = null;
+                this.world = null;
+            } else {
+                if (this.world != SnapshotManager.mc.world) {
+                    this.sections.clear();
+                    this.versions.clear();
+                    this.world = SnapshotManager.mc.world;
+                    this.changed = true;
+                }
+
+                Iterator iterator = this.settling.iterator();
+
+                while (iterator.hasNext()) {
+                    this.invalidateColumn(((Long) iterator.next()).longValue());
+                }
+
+                this.settling = new ArrayList();
+
+                Long key;
+
+                while ((key = (Long) this.updates.poll()) != null) {
+                    this.settling.add(key);
+                }
+
+                int chunkX = SnapshotManager.mc.player.chunkCoordX;
+                int chunkZ = SnapshotManager.mc.player.chunkCoordZ;
+
+                if (chunkX != this.centerX || chunkZ != this.centerZ) {
+                    this.centerX = chunkX;
+                    this.centerZ = chunkZ;
+                    this.sections.keySet().removeIf((sectionKey) -> {
+                        return Math.abs(getSectionX(((Long) sectionKey).longValue()) - chunkX) > SnapshotManager.RADIUS || Math.abs(getSectionZ(((Long) sectionKey).longValue()) - chunkZ) > SnapshotManager.RADIUS;
+                    });
+                    this.versions.keySet().retainAll(this.sections.keySet());
+                    this.changed = true;
+                }
+
+                this.buildSections(chunkX, MathHelper.floor(SnapshotManager.mc.player.posY) >> 4, chunkZ);
+                if (this.changed || this.snapshot == null) {
+                    this.publish();
+                }
+
+            }
+        }
+    }
+
+    void invalidateColumn(long chunkKey) {
+        int chunkX = ChunkIndex.getChunkX(chunkKey);
+        int chunkZ = ChunkIndex.getChunkZ(chunkKey);
+
+        for (int sectionY = 0; sectionY < 16; ++sectionY) {
+            if (this.sections.remove(Long.valueOf(getKey(chunkX, sectionY, chunkZ))) != null) {
+                this.changed = true;
+            }
+        }
+
+    }
+
+    void buildSections(int chunkX, int sectionY, int chunkZ) {
+        int count = 0;
+
+        for (int i = 0; i < SnapshotManager.offsets.length && count < SnapshotManager.SECTIONS_PER_TICK; ++i) {
+            int x = chunkX + SnapshotManager.offsets[i][0];
+            int y = sectionY + SnapshotManager.offsets[i][1];
+            int z = chunkZ + SnapshotManager.offsets[i][2];
+
+            if (y >= 0 && y < 16) {
+                Long key = Long.valueOf(getKey(x, y, z));
+
+                if (!this.sections.containsKey(key)) {
+                    Chunk chunk = SnapshotManager.mc.world.getChunkProvider().getLoadedChunk(x, z);
+
+                    if (chunk != null && !chunk.isEmpty()) {
+                        this.versions.put(key, Integer.valueOf(DamageManager.INSTANCE.getVersion(x, y, z)));
+                        this.sections.put(key, RegionSnapshot.Section.build(chunk, y));
+                        this.built.increment();
+                        this.changed = true;
+                        ++this.fresh;
+                        ++count;
+                    }
+                }
+            }
+        }
+
+    }
+
+    void publish() {
+        int minX = this.centerX - SnapshotManager.RADIUS;
+        int minZ = this.centerZ - SnapshotManager.RADIUS;
+        RegionSnapshot.Section[] grid = new RegionSnapshot.Section[SnapshotManager.SIZE * 16 * SnapshotManager.SIZE];
+        int[] versions = new int[grid.length];
+        Iterator iterator = this.sections.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Entry entry = (Entry) iterator.next();
+            long key = ((Long) entry.getKey()).longValue();
+            int index = RegionSnapshot.getIndex(getSectionX(key), getSectionY(key), getSectionZ(key), minX, minZ, SnapshotManager.SIZE);
+
+            if (index != -1) {
+                grid[index] = (RegionSnapshot.Section) entry.getValue();
+                versions[index] = ((Integer) this.versions.get(entry.getKey())).intValue();
+            }
+        }
+
+        this.shared.add((long) Math.max(0, this.sections.size() - this.fresh));
+        this.snapshot = new RegionSnapshot(grid, versions, minX, minZ, SnapshotManager.SIZE, this.ticks);
+        this.changed = false;
+        this.fresh = 0;
+    }
+
+    public RegionSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    public int getSectionCount() {
+        return this.sections.size();
+    }
+
+    public long getBuilt() {
+        return this.built.sum();
+    }
+
+    public long getShared() {
+        return this.shared.sum();
+    }
+
+    static long getKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) sectionX & 4194303L) << 42 | ((long) sectionZ & 4194303L) << 20 | (long) sectionY & 1048575L;
+    }
+
+    static int getSectionX(long key) {
+        return (int) (key >> 42);
+    }
+
+    static int getSectionY(long key) {
+        return (int) (key << 44 >> 44);
+    }
+
+    static int getSectionZ(long key) {
+        return (int) (key << 22 >> 42);
+    }
+
+    static int[][] createOffsets() {
+        ArrayList list = new ArrayList();
+
+        for (int x = -SnapshotManager.RADIUS; x <= SnapshotManager.RADIUS; ++x) {
+            for (int y = -SnapshotManager.VERTICAL; y <= SnapshotManager.VERTICAL; ++y) {
+                for (int z = -SnapshotManager.RADIUS; z <= SnapshotManager.RADIUS; ++z) {
+                    list.add(new int[] { x, y, z});
+                }
+            }
+        }
+
+        int[][] offsets = (int[][]) list.toArray(new int[0][]);
+
+        Arrays.sort(offsets, (a, b) -> {
+            return Integer.compare(a[0] * a[0] + a[1] * a[1] + a[2] * a[2], b[0] * b[0] + b[1] * b[1] + b[2] * b[2]);
+        });
+        return offsets;
+    }
+}
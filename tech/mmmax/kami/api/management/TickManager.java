@@ -0,0 +1,190 @@
+package tech.mmmax.kami.api.management;
+
+import java.util.ArrayDeque;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketEntity;
+import net.minecraft.network.play.server.SPacketEntityTeleport;
+import net.minecraft.network.play.server.SPacketTimeUpdate;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class TickManager implements IMinecraft {
+
+    public static TickManager INSTANCE;
+    public static final double MAX_TPS = 20.0D;
+    public static final double MIN_TPS = 0.5D;
+    public static final int SAMPLES = 6;
+    public static final long BURST_GAP = 10000000L;
+    public static final long STALE = 3000000000L;
+    final ArrayDeque samples = new ArrayDeque();
+    double tps = 20.0D;
+    double cadence = 50000000.0D;
+    double ticks;
+    long lastIntegrate = System.nanoTime();
+    long lastUpdate;
+    long lastMove;
+    long lastBurst;
+    volatile TickManager.Clock clock;
+
+    public TickManager() {
+        this.publish();
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketTimeUpdate.class, SPacketEntity.class, SPacketEntityTeleport.class},
+        time = { PacketEvent.Time.Receive}
+    )
+    public void onPacket(PacketEvent event) {
+        long now = System.nanoTime();
+        Packet packet = event.getPacket();
+
+        if (packet instanceof SPacketTimeUpdate) {
+            this.onTimeUpdate(((SPacketTimeUpdate) packet).getTotalWorldTime(), now);
+        } else {
+            this.onMove(now);
+        }
+
+    }
+
+    @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START && TickManager.mc.world == null) {
+            this.reset();
+        }
+
+    }
+
+    synchronized void onTimeUpdate(long worldTime, long now) {
+        this.integrate(now);
+        long[] last = (long[]) this.samples.peekLast();
+
+        if (last != null && (worldTime <= last[1] || (double) (worldTime - last[1]) > (double) (now - last[0]) / 1.0E9D * TickManager.MAX_TPS * 2.0D + 20.0D)) {
+            this.samples.clear();
+        }
+
+        this.samples.add(new long[] { now, worldTime});
+
+        while (this.samples.size() > TickManager.SAMPLES) {
+            this.samples.poll();
+        }
+
+        long[] first = (long[]) this.samples.peekFirst();
+
+        if (this.samples.size() > 1 && now > first[0]) {
+            this.tps = Math.max(TickManager.MIN_TPS, Math.min(TickManager.MAX_TPS, (double) (worldTime - first[1]) / ((double) (now - first[0]) / 1.0E9D)));
+        }
+
+        this.lastUpdate = now;
+        this.publish();
+    }
+
+    synchronized void onMove(long now) {
+        if (now - this.lastMove > TickManager.BURST_GAP) {
+            long interval = now - this.lastBurst;
+
+            if (this.lastBurst != 0L && interval >= 25000000L && interval <= 1000000000L) {
+                this.cadence += ((double) interval - this.cadence) * 0.1D;
+            }
+
+            this.integrate(now);
+            if (this.ticks - Math.floor(this.ticks) >= 0.5D) {
+                this.ticks = Math.ceil(this.ticks);
+            }
+
+            this.lastBurst = now;
+            this.publish();
+        }
+
+        this.lastMove = now;
+    }
+
+    void integrate(long now) {
+        if (now > this.lastIntegrate) {
+            this.ticks = this.clock.getTicks(now);
+            this.lastIntegrate = now;
+        }
+
+    }
+
+    void publish() {
+        this.clock = new TickManager.Clock(this.ticks, this.lastIntegrate, this.tps, this.lastUpdate != 0L ? this.lastUpdate + TickManager.STALE : this.lastIntegrate, Math.max(TickManager.MIN_TPS, Math.min(TickManager.MAX_TPS, 1.0E9D / this.cadence)));
+    }
+
+    double getTpsUnsafe(long now) {
+        return this.lastUpdate != 0L && now - this.lastUpdate <= TickManager.STALE ? this.tps : Math.max(TickManager.MIN_TPS, Math.min(TickManager.MAX_TPS, 1.0E9D / this.cadence));
+    }
+
+    public synchronized double getTps() {
+        return this.getTpsUnsafe(System.nanoTime());
+    }
+
+    public synchronized double getCadenceTps() {
+        return 1.0E9D / this.cadence;
+    }
+
+    public double getTicks() {
+        return this.clock.getTicks(System.nanoTime());
+    }
+
+    public synchronized double getTickPhase() {
+        long now = System.nanoTime();
+
+        if (this.lastBurst == 0L) {
+            return 0.0D;
+        } else {
+            double phase = (double) (now - this.lastBurst) / 1.0E9D * this.getTpsUnsafe(now);
+
+            return phase - Math.floor(phase);
+        }
+    }
+
+    public synchronized void reset() {
+        this.integrate(System.nanoTime());
+        this.samples.clear();
+        this.tps = TickManager.MAX_TPS;
+        this.cadence = 50000000.0D;
+        this.lastUpdate = 0L;
+        this.lastMove = 0L;
+        this.lastBurst = 0L;
+        this.publish();
+    }
+
+    static class Clock {
+
+        final double ticks;
+        final long time;
+        final double tps;
+        final long staleAt;
+        final double fallbackTps;
+
+        Clock(double ticks, long time, double tps, long staleAt, double fallbackTps) {
+            this.ticks = ticks;
+            this.time = time;
+            this.tps = tps;
+            this.staleAt = staleAt;
+            this.fallbackTps = fallbackTps;
+        }
+
+        double getTicks(long now) {
+            if (now <= this.time) {
+                return this.ticks;
+            } else if (this.staleAt <= this.time) {
+                return this.ticks + (double) (now - this.time) / 1.0E9D * this.fallbackTps;
+            } else if (now <= this.staleAt) {
+                return this.ticks + (double) (now - this.time) / 1.0E9D * this.tps;
+            } else {
+                return this.ticks + (double) (this.staleAt - this.time) / 1.0E9D * this.tps + (double) (now - this.staleAt) / 1.0E9D * this.fallbackTps;
+            }
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package tech.mmmax.kami.api.utils;
 
+import tech.mmmax.kami.api.management.TickManager;
+
 public class Timer {
 
     long startTime = System.currentTimeMillis();
     long delay = 0L;
     boolean paused = false;
+    boolean serverTicks = false;
+    double startTicks = 0.0D;
 
     public boolean isPassed() {
-        return !this.paused && System.currentTimeMillis() - this.startTime >= this.delay;
+        return !this.paused && (this.serverTicks && TickManager.INSTANCE != null ? TickManager.INSTANCE.getTicks() - this.startTicks >= (double) this.delay / 50.0D : System.currentTimeMillis() - this.startTime >= this.delay);
     }
 
     public void resetDelay() {
         this.startTime = System.currentTimeMillis();
+        if (TickManager.INSTANCE != null) {
+            this.startTicks = TickManager.INSTANCE.getTicks();
+        }
+
     }
 
     public void setDelay(long delay) {
@@ -22,6 +30,14 @@ public class Timer {
         this.paused = paused;
     }
 
+    public void setServerTicks(boolean serverTicks) {
+        this.serverTicks = serverTicks;
+    }
+
+    public boolean isServerTicks() {
+        return this.serverTicks;
+    }
+
     public boolean isPaused() {
         return this.paused;
     }
@@ -0,0 +1,34 @@
+package tech.mmmax.kami.api.utils.collections;
+
+public class ExpiringIntSet {
+
+    final ExpiringLongSet set;
+
+    public ExpiringIntSet(int capacity, long lifetime, ExpiringLongSet.Unit unit) {
+        this.set = new ExpiringLongSet(capacity, lifetime, unit);
+    }
+
+    public boolean add(int key) {
+        return this.set.add((long) key);
+    }
+
+    public boolean contains(int key) {
+        return this.set.contains((long) key);
+    }
+
+    public boolean remove(int key) {
+        return this.set.remove((long) key);
+    }
+
+    public void clear() {
+        this.set.clear();
+    }
+
+    public int size() {
+        return this.set.size();
+    }
+
+    public int capacity() {
+        return this.set.capacity();
+    }
+}
@@ -0,0 +1,191 @@
+package tech.mmmax.kami.api.utils.collections;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+
+public class ExpiringLongSet {
+
+    public static final int MAX_PROBES = 16;
+    static final long EMPTY = Long.MIN_VALUE;
+    static volatile long ticks;
+    final AtomicLongArray keys;
+    final AtomicLongArray expiries;
+    final int mask;
+    final long lifetime;
+    final ExpiringLongSet.Unit unit;
+    volatile long emptyKeyExpiry;
+
+    public ExpiringLongSet(int capacity, long lifetime, ExpiringLongSet.Unit unit) {
+        int size = Integer.highestOneBit(Math.max(capacity, ExpiringLongSet.MAX_PROBES) - 1) << 1;
+
+        this.keys = new AtomicLongArray(size);
+        this.expiries = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.lifetime = lifetime;
+        this.unit = unit;
+
+        for (int i = 0; i < size; ++i) {
+            this.keys.set(i, ExpiringLongSet.EMPTY);
+        }
+
+    }
+
+    public boolean add(long key) {
+        long now = this.unit.now();
+        long expiry = now + this.lifetime;
+
+        if (key == ExpiringLongSet.EMPTY) {
+            boolean added = this.emptyKeyExpiry <= now;
+
+            this.emptyKeyExpiry = expiry;
+            return added;
+        } else {
+            int home = hash(key) & this.mask;
+
+            for (int i = 0; i < ExpiringLongSet.MAX_PROBES; ++i) {
+                int slot = home + i & this.mask;
+
+                if (this.keys.get(slot) == key) {
+                    boolean added = this.expiries.get(slot) <= now;
+
+                    this.expiries.set(slot, expiry);
+                    return added;
+                }
+            }
+
+            int oldest = home;
+            long oldestExpiry = Long.MAX_VALUE;
+
+            for (int i = 0; i < ExpiringLongSet.MAX_PROBES; ++i) {
+                int slot = home + i & this.mask;
+                long current = this.keys.get(slot);
+                long currentExpiry = this.expiries.get(slot);
+
+                if (current == ExpiringLongSet.EMPTY || currentExpiry <= now) {
+                    if (this.keys.compareAndSet(slot, current, key)) {
+                        this.expiries.set(slot, expiry);
+                        return true;
+                    }
+                } else if (currentExpiry < oldestExpiry) {
+                    oldest = slot;
+                    oldestExpiry = currentExpiry;
+                }
+            }
+
+            this.keys.set(oldest, key);
+            this.expiries.set(oldest, expiry);
+            return true;
+        }
+    }
+
+    public boolean contains(long key) {
+        long now = this.unit.now();
+
+        if (key == ExpiringLongSet.EMPTY) {
+            return this.emptyKeyExpiry > now;
+        } else {
+            int home = hash(key) & this.mask;
+
+            for (int i = 0; i < ExpiringLongSet.MAX_PROBES; ++i) {
+                int slot = home + i & this.mask;
+
+                if (this.keys.get(slot) == key && this.expiries.get(slot) > now) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    public boolean remove(long key) {
+        long now = this.unit.now();
+        boolean removed = false;
+
+        if (key == ExpiringLongSet.EMPTY) {
+            removed = this.emptyKeyExpiry > now;
+            this.emptyKeyExpiry = 0L;
+        } else {
+            int home = hash(key) & this.mask;
+
+            for (int i = 0; i < ExpiringLongSet.MAX_PROBES; ++i) {
+                int slot = home + i & this.mask;
+
+                if (this.keys.get(slot) == key) {
+                    removed |= this.expiries.getAndSet(slot, 0L) > now;
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    public void clear() {
+        for (int i = 0; i <= this.mask; ++i) {
+            this.expiries.set(i, 0L);
+        }
+
+        this.emptyKeyExpiry = 0L;
+    }
+
+    public int size() {
+        long now = this.unit.now();
+        int size = this.emptyKeyExpiry > now ? 1 : 0;
+
+        for (int i = 0; i <= this.mask; ++i) {
+            if (this.keys.get(i) != ExpiringLongSet.EMPTY && this.expiries.get(i) > now) {
+                ++size;
+            }
+        }
+
+        return size;
+    }
+
+    public int capacity() {
+        return this.mask + 1;
+    }
+
+    public static long getTicks() {
+        return ExpiringLongSet.ticks;
+    }
+
+    static int hash(long key) {
+        long h = key * -7046029254386353131L;
+
+        return (int) (h ^ h >>> 32);
+    }
+
+    public static enum Unit {
+
+        Millis, Ticks;
+
+        public long now() {
+            return this == ExpiringLongSet.Unit.Ticks ? ExpiringLongSet.ticks : System.currentTimeMillis();
+        }
+    }
+
+    public static class Clock {
+
+        public Clock() {
+            MinecraftForge.EVENT_BUS.register(this);
+        }
+
+        @SubscribeEvent(
+            priority = EventPriority.HIGHEST
+        )
+        public void onTick(ClientTickEvent event) {
+            if (event.phase == TickEvent.Phase.START) {
+                ++ExpiringLongSet.ticks;
+            }
+
+        }
+    }
+
+    static {
+        new ExpiringLongSet.Clock();
+    }
+}
@@ -0,0 +1,140 @@
+package tech.mmmax.kami.api.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+
+public class InboundFilter extends ChannelInboundHandlerAdapter {
+
+    public static final String NAME = "kami_filter";
+    public static final int MAX_IDS = 256;
+    static final AtomicLongArray bits = new AtomicLongArray(InboundFilter.MAX_IDS / 64);
+    static final AtomicIntegerArray requests = new AtomicIntegerArray(InboundFilter.MAX_IDS);
+    static final AtomicLongArray dropped = new AtomicLongArray(InboundFilter.MAX_IDS);
+    static final Class[] types = new Class[InboundFilter.MAX_IDS];
+
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ByteBuf && ctx.channel().attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY) {
+            int id = peekVarInt((ByteBuf) msg);
+
+            if (isDropped(id)) {
+                InboundFilter.dropped.incrementAndGet(id);
+                ((ByteBuf) msg).release();
+                return;
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    public static void install(Channel channel) {
+        if (channel.pipeline().get("decoder") != null && channel.pipeline().get(InboundFilter.NAME) == null) {
+            channel.pipeline().addBefore("decoder", InboundFilter.NAME, new InboundFilter());
+        }
+
+    }
+
+    public static boolean isDropped(int id) {
+        return id >= 0 && id < InboundFilter.MAX_IDS && (InboundFilter.bits.get(id >> 6) & 1L << id) != 0L;
+    }
+
+    public static long getDropped(int id) {
+        return InboundFilter.dropped.get(id);
+    }
+
+    public static Class getType(int id) {
+        return InboundFilter.types[id];
+    }
+
+    public static void resetDropped() {
+        for (int i = 0; i < InboundFilter.MAX_IDS; ++i) {
+            InboundFilter.dropped.set(i, 0L);
+        }
+
+    }
+
+    static void request(int id, int delta) {
+        InboundFilter.requests.addAndGet(id, delta);
+
+        boolean drop;
+        long previous;
+        long next;
+
+        do {
+            drop = InboundFilter.requests.get(id) > 0;
+            previous = InboundFilter.bits.get(id >> 6);
+            next = drop ? previous | 1L << id : previous & ~(1L << id);
+        } while (previous != next && !InboundFilter.bits.compareAndSet(id >> 6, previous, next) || drop != InboundFilter.requests.get(id) > 0);
+
+    }
+
+    static int peekVarInt(ByteBuf buf) {
+        int value = 0;
+        int index = buf.readerIndex();
+
+        for (int i = 0; i < 5 && index + i < buf.writerIndex(); ++i) {
+            byte b = buf.getByte(index + i);
+
+            value |= (b & 127) << i * 7;
+            if ((b & 128) == 0) {
+                return value;
+            }
+        }
+
+        return -1;
+    }
+
+    static int getPacketId(Class type) {
+        Integer id;
+
+        try {
+            id = EnumConnectionState.PLAY.getPacketId(EnumPacketDirection.CLIENTBOUND, (Packet) type.newInstance());
+        } catch (Exception exception) {
+            throw new IllegalArgumentException("Could not resolve packet id of " + type.getSimpleName(), exception);
+        }
+
+        if (id != null && id.intValue() >= 0 && id.intValue() < InboundFilter.MAX_IDS) {
+            InboundFilter.types[id.intValue()] = type;
+            return id.intValue();
+        } else {
+            throw new IllegalArgumentException(type.getSimpleName() + " is not a clientbound play packet");
+        }
+    }
+
+    public static class Request {
+
+        final int[] ids;
+        boolean active;
+
+        public Request(Class... packets) {
+            this.ids = new int[packets.length];
+
+            for (int i = 0; i < packets.length; ++i) {
+                this.ids[i] = InboundFilter.getPacketId(packets[i]);
+            }
+
+        }
+
+        public void set(boolean active) {
+            if (this.active != active) {
+                this.active = active;
+
+                for (int i = 0; i < this.ids.length; ++i) {
+                    InboundFilter.request(this.ids[i], active ? 1 : -1);
+                }
+
+            }
+        }
+
+        public boolean isActive() {
+            return this.active;
+        }
+    }
+}
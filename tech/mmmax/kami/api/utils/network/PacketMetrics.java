@@ -0,0 +1,322 @@
+package tech.mmmax.kami.api.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import tech.mmmax.kami.api.event.PacketEvent;
+
+public class PacketMetrics {
+
+    public static final String INBOUND = "kami_meter_in";
+    public static final String OUTBOUND = "kami_meter_out";
+    public static final int WINDOW = 60;
+    static final Map[] stats = new Map[] { new ConcurrentHashMap(), new ConcurrentHashMap()};
+    static final Class[][] types = new Class[2][InboundFilter.MAX_IDS];
+    static final PacketMetrics.Histogram handlers = new PacketMetrics.Histogram();
+    static volatile boolean enabled = true;
+
+    public static void record(Class type, PacketEvent.Time time) {
+        if (PacketMetrics.enabled) {
+            getStats(type, time).record();
+        }
+
+    }
+
+    static void recordBytes(int id, PacketEvent.Time time, int bytes) {
+        Class type = getType(id, time);
+
+        if (type != null) {
+            getStats(type, time).addBytes((long) bytes);
+        }
+
+    }
+
+    public static PacketMetrics.Stats getStats(Class type, PacketEvent.Time time) {
+        return (PacketMetrics.Stats) PacketMetrics.stats[time.ordinal()].computeIfAbsent(type, (key) -> {
+            return new PacketMetrics.Stats((Class) key, time);
+        });
+    }
+
+    public static List getStats(PacketEvent.Time time) {
+        return new ArrayList(PacketMetrics.stats[time.ordinal()].values());
+    }
+
+    public static long getCount(PacketEvent.Time time, int seconds) {
+        long count = 0L;
+
+        for (Iterator iterator = PacketMetrics.stats[time.ordinal()].values().iterator(); iterator.hasNext(); count += ((PacketMetrics.Stats) iterator.next()).getCount(seconds)) {
+            ;
+        }
+
+        return count;
+    }
+
+    public static long getBytes(PacketEvent.Time time, int seconds) {
+        long bytes = 0L;
+
+        for (Iterator iterator = PacketMetrics.stats[time.ordinal()].values().iterator(); iterator.hasNext(); bytes += ((PacketMetrics.Stats) iterator.next()).getBytes(seconds)) {
+            ;
+        }
+
+        return bytes;
+    }
+
+    public static PacketMetrics.Histogram getHandlers() {
+        return PacketMetrics.handlers;
+    }
+
+    public static boolean isEnabled() {
+        return PacketMetrics.enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PacketMetrics.enabled = enabled;
+    }
+
+    public static void reset() {
+        for (int i = 0; i < PacketMetrics.stats.length; ++i) {
+            PacketMetrics.stats[i].clear();
+        }
+
+        PacketMetrics.handlers.reset();
+    }
+
+    public static void install(Channel channel) {
+        if (channel.pipeline().get("decoder") != null && channel.pipeline().get(PacketMetrics.INBOUND) == null) {
+            channel.pipeline().addBefore("decoder", PacketMetrics.INBOUND, new PacketMetrics.Meter(PacketEvent.Time.Receive));
+        }
+
+        if (channel.pipeline().get("encoder") != null && channel.pipeline().get(PacketMetrics.OUTBOUND) == null) {
+            channel.pipeline().addBefore("encoder", PacketMetrics.OUTBOUND, new PacketMetrics.Meter(PacketEvent.Time.Send));
+        }
+
+    }
+
+    static Class getType(int id, PacketEvent.Time time) {
+        if (id >= 0 && id < InboundFilter.MAX_IDS) {
+            Class type = PacketMetrics.types[time.ordinal()][id];
+
+            if (type == null) {
+                try {
+                    Packet packet = EnumConnectionState.PLAY.getPacket(time == PacketEvent.Time.Receive ? EnumPacketDirection.CLIENTBOUND : EnumPacketDirection.SERVERBOUND, id);
+
+                    if (packet != null) {
+                        type = packet.getClass();
+                        PacketMetrics.types[time.ordinal()][id] = type;
+                    }
+                } catch (ReflectiveOperationException reflectiveoperationexception) {
+                    ;
+                }
+            }
+
+            return type;
+        } else {
+            return null;
+        }
+    }
+
+    static long getSecond() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    public static class Stats {
+
+        final Class type;
+        final PacketEvent.Time time;
+        final LongAdder count = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final PacketMetrics.Window counts = new PacketMetrics.Window();
+        final PacketMetrics.Window byteCounts = new PacketMetrics.Window();
+
+        Stats(Class type, PacketEvent.Time time) {
+            this.type = type;
+            this.time = time;
+        }
+
+        void record() {
+            this.count.increment();
+            this.counts.add(1L);
+        }
+
+        void addBytes(long bytes) {
+            this.bytes.add(bytes);
+            this.byteCounts.add(bytes);
+        }
+
+        public Class getType() {
+            return this.type;
+        }
+
+        public PacketEvent.Time getTime() {
+            return this.time;
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getBytes() {
+            return this.bytes.sum();
+        }
+
+        public long getCount(int seconds) {
+            return this.counts.sum(seconds);
+        }
+
+        public long getBytes(int seconds) {
+            return this.byteCounts.sum(seconds);
+        }
+    }
+
+    public static class Window {
+
+        static final int VALUE_BITS = 40;
+        static final long VALUE_MASK = (1L << PacketMetrics.Window.VALUE_BITS) - 1L;
+        final AtomicLongArray slots = new AtomicLongArray(PacketMetrics.WINDOW);
+
+        void add(long value) {
+            long second = PacketMetrics.getSecond();
+            int slot = (int) (second % (long) PacketMetrics.WINDOW);
+            long stamp = second << PacketMetrics.Window.VALUE_BITS >>> PacketMetrics.Window.VALUE_BITS;
+
+            while (true) {
+                long current = this.slots.get(slot);
+                long age = getAge(stamp, current >>> PacketMetrics.Window.VALUE_BITS);
+                long next;
+
+                if (current != 0L && age < 0L && age > (long) (-PacketMetrics.WINDOW)) {
+                    return;
+                }
+
+                if (current != 0L && age == 0L) {
+                    next = stamp << PacketMetrics.Window.VALUE_BITS | Math.min((current & PacketMetrics.Window.VALUE_MASK) + value, PacketMetrics.Window.VALUE_MASK);
+                } else {
+                    next = stamp << PacketMetrics.Window.VALUE_BITS | Math.min(value, PacketMetrics.Window.VALUE_MASK);
+                }
+
+                if (this.slots.compareAndSet(slot, current, next)) {
+                    return;
+                }
+            }
+        }
+
+        public long sum(int seconds) {
+            long stamp = PacketMetrics.getSecond() << PacketMetrics.Window.VALUE_BITS >>> PacketMetrics.Window.VALUE_BITS;
+            long sum = 0L;
+
+            for (int i = 0; i < PacketMetrics.WINDOW; ++i) {
+                long current = this.slots.get(i);
+                long age = getAge(stamp, current >>> PacketMetrics.Window.VALUE_BITS);
+
+                if (current != 0L && age >= 1L && age <= (long) seconds) {
+                    sum += current & PacketMetrics.Window.VALUE_MASK;
+                }
+            }
+
+            return sum;
+        }
+
+        static long getAge(long stamp, long slotStamp) {
+            return stamp - slotStamp << PacketMetrics.Window.VALUE_BITS >> PacketMetrics.Window.VALUE_BITS;
+        }
+    }
+
+    public static class Histogram {
+
+        final AtomicLongArray buckets = new AtomicLongArray(64);
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+
+        public void record(long nanos) {
+            this.buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0L)) & 63);
+            this.count.increment();
+            this.totalNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public double getAverageMillis() {
+            long count = this.count.sum();
+
+            return count == 0L ? 0.0D : (double) this.totalNanos.sum() / (double) count / 1000000.0D;
+        }
+
+        public double getPercentileMillis(double percentile) {
+            long total = 0L;
+
+            for (int i = 0; i < 64; ++i) {
+                total += this.buckets.get(i);
+            }
+
+            long target = (long) Math.ceil((double) total * percentile);
+            long seen = 0L;
+
+            for (int i = 0; i < 64; ++i) {
+                seen += this.buckets.get(i);
+                if (seen >= target && seen > 0L) {
+                    return (double) (1L << i) / 1000000.0D;
+                }
+            }
+
+            return 0.0D;
+        }
+
+        void reset() {
+            for (int i = 0; i < 64; ++i) {
+                this.buckets.set(i, 0L);
+            }
+
+            this.count.reset();
+            this.totalNanos.reset();
+        }
+    }
+
+    static class Meter extends ChannelDuplexHandler {
+
+        final PacketEvent.Time time;
+
+        Meter(PacketEvent.Time time) {
+            this.time = time;
+        }
+
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (this.time == PacketEvent.Time.Receive) {
+                this.measure(ctx, msg);
+            }
+
+            ctx.fireChannelRead(msg);
+        }
+
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            if (this.time == PacketEvent.Time.Send) {
+                this.measure(ctx, msg);
+            }
+
+            ctx.write(msg, promise);
+        }
+
+        void measure(ChannelHandlerContext ctx, Object msg) {
+            if (PacketMetrics.enabled && msg instanceof ByteBuf && ctx.channel().attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY) {
+                ByteBuf buf = (ByteBuf) msg;
+
+                PacketMetrics.recordBytes(InboundFilter.peekVarInt(buf), this.time, buf.readableBytes());
+            }
+
+        }
+    }
+}
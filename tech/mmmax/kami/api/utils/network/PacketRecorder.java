@@ -0,0 +1,218 @@
+package tech.mmmax.kami.api.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.NetworkManager;
+import tech.mmmax.kami.api.management.SavableManager;
+
+public class PacketRecorder extends ChannelInboundHandlerAdapter {
+
+    public static final String NAME = "kami_recorder";
+    public static final File FOLDER = new File(SavableManager.MAIN_FOLDER, "recordings");
+    public static final int SEGMENT_SIZE = 16777216;
+    public static final int MAX_SEGMENTS = 64;
+    public static final int HEADER = 12;
+    static final Object lock = new Object();
+    static final ArrayDeque segments = new ArrayDeque();
+    static final LongAdder frames = new LongAdder();
+    static final LongAdder bytes = new LongAdder();
+    static volatile boolean recording;
+    static File folder;
+    static MappedByteBuffer segment;
+    static int index;
+    static long start;
+
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (PacketRecorder.recording && msg instanceof ByteBuf && ctx.channel().attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY) {
+            append(System.nanoTime(), (ByteBuf) msg);
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    public static void install(Channel channel) {
+        if (channel.pipeline().get("decoder") != null && channel.pipeline().get(PacketRecorder.NAME) == null) {
+            channel.pipeline().addBefore("decoder", PacketRecorder.NAME, new PacketRecorder());
+        }
+
+    }
+
+    public static boolean start(String name) {
+        synchronized (PacketRecorder.lock) {
+            if (PacketRecorder.recording) {
+                return false;
+            } else {
+                String stamp = (new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss")).format(new Date());
+
+                PacketRecorder.folder = new File(new File(PacketRecorder.FOLDER, name), stamp);
+
+                for (int i = 1; PacketRecorder.folder.exists(); ++i) {
+                    PacketRecorder.folder = new File(new File(PacketRecorder.FOLDER, name), stamp + "-" + i);
+                }
+
+                if (!PacketRecorder.folder.mkdirs()) {
+                    return false;
+                } else {
+                    PacketRecorder.segments.clear();
+                    PacketRecorder.frames.reset();
+                    PacketRecorder.bytes.reset();
+                    PacketRecorder.index = 0;
+                    PacketRecorder.start = System.nanoTime();
+                    if (!rotate()) {
+                        return false;
+                    } else {
+                        PacketRecorder.recording = true;
+                        return true;
+                    }
+                }
+            }
+        }
+    }
+
+    public static void stop() {
+        synchronized (PacketRecorder.lock) {
+            PacketRecorder.recording = false;
+            if (PacketRecorder.segment != null) {
+                PacketRecorder.segment.force();
+                unmap(PacketRecorder.segment);
+                PacketRecorder.segment = null;
+            }
+
+        }
+    }
+
+    public static boolean isRecording() {
+        return PacketRecorder.recording;
+    }
+
+    public static long getFrames() {
+        return PacketRecorder.frames.sum();
+    }
+
+    public static long getBytes() {
+        return PacketRecorder.bytes.sum();
+    }
+
+    public static int getSegmentCount() {
+        synchronized (PacketRecorder.lock) {
+            return PacketRecorder.segments.size();
+        }
+    }
+
+    public static File getFolder() {
+        synchronized (PacketRecorder.lock) {
+            return PacketRecorder.folder;
+        }
+    }
+
+    public static File getLatest(String name) {
+        File root = new File(PacketRecorder.FOLDER, name);
+
+        if (getSegments(root).length != 0) {
+            return root;
+        } else {
+            File[] runs = root.listFiles(File::isDirectory);
+
+            if (runs != null && runs.length != 0) {
+                Arrays.sort(runs);
+                return runs[runs.length - 1];
+            } else {
+                return root;
+            }
+        }
+    }
+
+    public static File[] getSegments(File folder) {
+        File[] files = folder.listFiles((dir, name) -> {
+            return name.startsWith("segment-") && name.endsWith(".bin");
+        });
+
+        if (files == null) {
+            return new File[0];
+        } else {
+            Arrays.sort(files);
+            return files;
+        }
+    }
+
+    static void append(long time, ByteBuf buf) {
+        int length = buf.readableBytes();
+
+        if (length > 0 && length + PacketRecorder.HEADER <= PacketRecorder.SEGMENT_SIZE) {
+            synchronized (PacketRecorder.lock) {
+                if (PacketRecorder.recording && (PacketRecorder.segment.remaining() >= length + PacketRecorder.HEADER || rotate())) {
+                    ByteBuffer frame = PacketRecorder.segment.duplicate();
+
+                    frame.limit(frame.position() + PacketRecorder.HEADER + length);
+                    frame.putLong(time - PacketRecorder.start);
+                    frame.putInt(length);
+                    buf.getBytes(buf.readerIndex(), frame);
+                    PacketRecorder.segment.position(frame.position());
+                    PacketRecorder.frames.increment();
+                    PacketRecorder.bytes.add((long) length);
+                }
+            }
+        }
+
+    }
+
+    static boolean rotate() {
+        if (PacketRecorder.segment != null) {
+            PacketRecorder.segment.force();
+            unmap(PacketRecorder.segment);
+            PacketRecorder.segment = null;
+        }
+
+        File file = new File(PacketRecorder.folder, String.format("segment-%06d.bin", new Object[] { Integer.valueOf(PacketRecorder.index++)}));
+
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+            try {
+                PacketRecorder.segment = randomAccessFile.getChannel().map(MapMode.READ_WRITE, 0L, (long) PacketRecorder.SEGMENT_SIZE);
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException ioexception) {
+            ioexception.printStackTrace();
+            PacketRecorder.recording = false;
+            PacketRecorder.segment = null;
+            return false;
+        }
+
+        PacketRecorder.segments.add(file);
+
+        while (PacketRecorder.segments.size() > PacketRecorder.MAX_SEGMENTS) {
+            ((File) PacketRecorder.segments.poll()).delete();
+        }
+
+        return true;
+    }
+
+    static void unmap(MappedByteBuffer buffer) {
+        try {
+            sun.misc.Cleaner cleaner = ((sun.nio.ch.DirectBuffer) buffer).cleaner();
+
+            if (cleaner != null) {
+                cleaner.clean();
+            }
+        } catch (Throwable throwable) {
+            ;
+        }
+
+    }
+}
@@ -0,0 +1,377 @@
+package tech.mmmax.kami.api.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PostPacketEvent;
+import tech.mmmax.kami.api.management.CrystalManager;
+import tech.mmmax.kami.api.management.DamageManager;
+import tech.mmmax.kami.api.management.EntityManager;
+import tech.mmmax.kami.api.management.FeatureManager;
+import tech.mmmax.kami.api.management.HoleManager;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.management.PacketManager;
+
+public class PacketReplay {
+
+    public static final int GROWTH_LOOPS = 3;
+    static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    static final Map profiles = new ConcurrentHashMap();
+    static final Map sizes = new HashMap();
+    static final Map growth = new HashMap();
+    static final List growing = new ArrayList();
+    static final LongAdder replayed = new LongAdder();
+    static final LongAdder failed = new LongAdder();
+    static final LongAdder swallowed = new LongAdder();
+    static volatile boolean running;
+    static volatile int loop;
+    static Thread thread;
+    static PacketReplay.Pending pending;
+
+    public static synchronized boolean start(String name, boolean fast, int loops) {
+        File[] files = PacketRecorder.getSegments(PacketRecorder.getLatest(name));
+
+        if (!PacketReplay.running && files.length != 0 && !isConnected()) {
+            PacketReplay.pending = null;
+            PacketReplay.profiles.clear();
+            PacketReplay.sizes.clear();
+            PacketReplay.growth.clear();
+            PacketReplay.growing.clear();
+            PacketReplay.replayed.reset();
+            PacketReplay.failed.reset();
+            PacketReplay.swallowed.reset();
+            PacketReplay.loop = 0;
+            PacketReplay.running = true;
+            PacketReplay.thread = new Thread(() -> {
+                run(files, fast, loops);
+            }, "Kami Replay");
+            PacketReplay.thread.setDaemon(true);
+            if (PacketReplay.threads.isThreadCpuTimeSupported()) {
+                PacketReplay.threads.setThreadCpuTimeEnabled(true);
+            }
+
+            PacketReplay.thread.start();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public static synchronized boolean schedule(String name, boolean fast, int loops) {
+        if (!PacketReplay.running && PacketRecorder.getSegments(PacketRecorder.getLatest(name)).length != 0) {
+            PacketReplay.pending = new PacketReplay.Pending(name, fast, loops);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public static synchronized void onDisconnect() {
+        if (PacketReplay.pending != null) {
+            PacketReplay.Pending pending = PacketReplay.pending;
+
+            PacketReplay.pending = null;
+            start(pending.name, pending.fast, pending.loops);
+        }
+
+    }
+
+    public static synchronized void stop() {
+        PacketReplay.running = false;
+        PacketReplay.pending = null;
+    }
+
+    public static synchronized String getPending() {
+        return PacketReplay.pending == null ? null : PacketReplay.pending.name;
+    }
+
+    public static boolean isConnected() {
+        return Minecraft.getMinecraft().getConnection() != null;
+    }
+
+    public static boolean isRunning() {
+        return PacketReplay.running;
+    }
+
+    public static boolean swallow(Packet packet) {
+        if (PacketReplay.running && isConnected()) {
+            PacketReplay.running = false;
+        }
+
+        if (PacketReplay.running && PacketManager.getPriority(packet) != null) {
+            PacketReplay.swallowed.increment();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    public static long getCpuTime() {
+        return PacketReplay.threads.getCurrentThreadCpuTime();
+    }
+
+    public static long getAllocatedBytes() {
+        return PacketReplay.threads instanceof com.sun.management.ThreadMXBean ? ((com.sun.management.ThreadMXBean) PacketReplay.threads).getThreadAllocatedBytes(Thread.currentThread().getId()) : 0L;
+    }
+
+    public static void record(Class owner, long cpu, long allocated) {
+        ((PacketReplay.Profile) PacketReplay.profiles.computeIfAbsent(owner, (key) -> {
+            return new PacketReplay.Profile((Class) key);
+        })).record(cpu, allocated);
+    }
+
+    public static List getProfiles() {
+        return new ArrayList(PacketReplay.profiles.values());
+    }
+
+    public static synchronized List getGrowing() {
+        return new ArrayList(PacketReplay.growing);
+    }
+
+    public static long getReplayed() {
+        return PacketReplay.replayed.sum();
+    }
+
+    public static long getFailed() {
+        return PacketReplay.failed.sum();
+    }
+
+    public static long getSwallowed() {
+        return PacketReplay.swallowed.sum();
+    }
+
+    public static int getLoop() {
+        return PacketReplay.loop;
+    }
+
+    static void run(File[] files, boolean fast, int loops) {
+        try {
+            while (PacketReplay.running && (loops == 0 || PacketReplay.loop < loops)) {
+                long begin = System.nanoTime();
+                long first = -1L;
+
+                for (int i = 0; PacketReplay.running && i < files.length; ++i) {
+                    first = replay(files[i], fast, begin, first);
+                }
+
+                checkCollections();
+                ++PacketReplay.loop;
+            }
+        } finally {
+            PacketReplay.running = false;
+        }
+
+    }
+
+    static long replay(File file, boolean fast, long begin, long first) {
+        MappedByteBuffer segment;
+
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+
+            try {
+                segment = randomAccessFile.getChannel().map(MapMode.READ_ONLY, 0L, randomAccessFile.length());
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException ioexception) {
+            ioexception.printStackTrace();
+            return first;
+        }
+
+        try {
+            first = replay(segment, fast, begin, first);
+        } finally {
+            PacketRecorder.unmap(segment);
+        }
+
+        return first;
+    }
+
+    static long replay(MappedByteBuffer segment, boolean fast, long begin, long first) {
+        while (PacketReplay.running && segment.remaining() >= PacketRecorder.HEADER) {
+            if (isConnected()) {
+                PacketReplay.running = false;
+                break;
+            }
+
+            long time = segment.getLong();
+            int length = segment.getInt();
+
+            if (length <= 0 || length > segment.remaining()) {
+                break;
+            }
+
+            if (first < 0L) {
+                first = time;
+            }
+
+            if (!fast) {
+                long wait = time - first - (System.nanoTime() - begin);
+
+                if (wait > 0L) {
+                    try {
+                        Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+                    } catch (InterruptedException interruptedexception) {
+                        PacketReplay.running = false;
+                        break;
+                    }
+                }
+            }
+
+            ByteBuffer frame = segment.slice();
+
+            frame.limit(length);
+            segment.position(segment.position() + length);
+            dispatch(Unpooled.wrappedBuffer(frame));
+        }
+
+        return first;
+    }
+
+    static void dispatch(ByteBuf buf) {
+        try {
+            PacketBuffer buffer = new PacketBuffer(buf);
+            Packet packet = EnumConnectionState.PLAY.getPacket(EnumPacketDirection.CLIENTBOUND, buffer.readVarInt());
+
+            if (packet == null) {
+                PacketReplay.failed.increment();
+                return;
+            }
+
+            packet.readPacketData(buffer);
+            PacketEvent packetEvent = new PacketEvent(packet, PacketEvent.Time.Receive);
+
+            if (PacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Receive)) {
+                PacketEvent.CHANNEL.post(packetEvent);
+            }
+
+            if (!packetEvent.isCanceled() && PostPacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Receive)) {
+                PostPacketEvent.CHANNEL.post(new PostPacketEvent(packet, PacketEvent.Time.Receive));
+            }
+
+            PacketReplay.replayed.increment();
+        } catch (Exception exception) {
+            PacketReplay.failed.increment();
+        }
+
+    }
+
+    static synchronized void checkCollections() {
+        ArrayList owners = new ArrayList(FeatureManager.INSTANCE.getFeatures());
+
+        owners.add(PacketManager.INSTANCE);
+        owners.add(LatencyManager.INSTANCE);
+        owners.add(EntityManager.INSTANCE);
+        owners.add(HoleManager.INSTANCE);
+        owners.add(CrystalManager.INSTANCE);
+        owners.add(DamageManager.INSTANCE);
+        Iterator iterator = owners.iterator();
+
+        while (iterator.hasNext()) {
+            Object owner = iterator.next();
+
+            if (owner != null) {
+                for (Class type = owner.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                    Field[] fields = type.getDeclaredFields();
+
+                    for (int i = 0; i < fields.length; ++i) {
+                        if (!Modifier.isStatic(fields[i].getModifiers()) && (Collection.class.isAssignableFrom(fields[i].getType()) || Map.class.isAssignableFrom(fields[i].getType()))) {
+                            checkCollection(owner, fields[i]);
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    static void checkCollection(Object owner, Field field) {
+        try {
+            field.setAccessible(true);
+            Object value = field.get(owner);
+            int size = value instanceof Collection ? ((Collection) value).size() : (value instanceof Map ? ((Map) value).size() : 0);
+            String name = owner.getClass().getSimpleName() + "." + field.getName();
+            Integer last = (Integer) PacketReplay.sizes.put(name, Integer.valueOf(size));
+            int streak = last != null && size > last.intValue() ? ((Integer) PacketReplay.growth.getOrDefault(name, Integer.valueOf(0))).intValue() + 1 : 0;
+
+            PacketReplay.growth.put(name, Integer.valueOf(streak));
+            if (streak >= PacketReplay.GROWTH_LOOPS && !PacketReplay.growing.contains(name)) {
+                PacketReplay.growing.add(name);
+            }
+        } catch (Exception exception) {
+            ;
+        }
+
+    }
+
+    static class Pending {
+
+        final String name;
+        final boolean fast;
+        final int loops;
+
+        Pending(String name, boolean fast, int loops) {
+            this.name = name;
+            this.fast = fast;
+            this.loops = loops;
+        }
+    }
+
+    public static class Profile {
+
+        final Class owner;
+        final LongAdder calls = new LongAdder();
+        final LongAdder cpuNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+
+        Profile(Class owner) {
+            this.owner = owner;
+        }
+
+        void record(long cpu, long allocated) {
+            this.calls.increment();
+            this.cpuNanos.add(cpu);
+            this.allocatedBytes.add(allocated);
+        }
+
+        public Class getOwner() {
+            return this.owner;
+        }
+
+        public long getCalls() {
+            return this.calls.sum();
+        }
+
+        public long getCpuNanos() {
+            return this.cpuNanos.sum();
+        }
+
+        public long getAllocatedBytes() {
+            return this.allocatedBytes.sum();
+        }
+    }
+}
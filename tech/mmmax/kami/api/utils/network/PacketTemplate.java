@@ -0,0 +1,161 @@
+package tech.mmmax.kami.api.utils.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.client.CPacketPlayerTryUseItemOnBlock;
+import net.minecraft.network.play.client.CPacketUseEntity;
+import net.minecraft.network.play.client.CPacketUseEntity.Action;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EnumHand;
+import net.minecraft.util.math.BlockPos;
+import tech.mmmax.kami.mixin.mixins.access.ICPacketUseEntity;
+
+public class PacketTemplate extends ChannelOutboundHandlerAdapter {
+
+    public static final String NAME = "kami_template";
+    static final byte[] attackHead;
+    static final byte[] attackTail;
+    static final byte[] place;
+    static final int placePos;
+    static final int placeHand;
+    static final LongAdder written = new LongAdder();
+    static final LongAdder mismatches = new LongAdder();
+    static volatile boolean verify;
+
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        ByteBuf buf = msg instanceof Packet && ctx.channel().attr(NetworkManager.PROTOCOL_ATTRIBUTE_KEY).get() == EnumConnectionState.PLAY ? apply(ctx.alloc(), (Packet) msg) : null;
+
+        if (buf == null) {
+            ctx.write(msg, promise);
+        } else {
+            if (PacketTemplate.verify) {
+                ByteBuf expected = encode(ctx.alloc(), (Packet) msg);
+
+                if (!ByteBufUtil.equals(buf, expected)) {
+                    PacketTemplate.mismatches.increment();
+                    buf.release();
+                    buf = expected;
+                } else {
+                    expected.release();
+                }
+            }
+
+            PacketTemplate.written.increment();
+            ctx.write(buf, promise);
+        }
+    }
+
+    public static void install(Channel channel) {
+        if (channel.pipeline().get("encoder") != null && channel.pipeline().get(PacketTemplate.NAME) == null) {
+            channel.pipeline().addAfter("encoder", PacketTemplate.NAME, new PacketTemplate());
+        }
+
+    }
+
+    static ByteBuf apply(ByteBufAllocator alloc, Packet packet) {
+        if (packet instanceof CPacketUseEntity && ((CPacketUseEntity) packet).getAction() == Action.ATTACK) {
+            return encodeAttack(alloc, ((ICPacketUseEntity) packet).getEntityId());
+        } else if (packet instanceof CPacketPlayerTryUseItemOnBlock) {
+            CPacketPlayerTryUseItemOnBlock use = (CPacketPlayerTryUseItemOnBlock) packet;
+
+            return use.getDirection() == EnumFacing.UP && use.getFacingX() == 0.0F && use.getFacingY() == 0.0F && use.getFacingZ() == 0.0F ? encodePlace(alloc, use.getPos(), use.getHand()) : null;
+        } else {
+            return null;
+        }
+    }
+
+    public static ByteBuf encode(ByteBufAllocator alloc, Packet packet) {
+        ByteBuf buf = alloc.ioBuffer();
+
+        try {
+            PacketBuffer buffer = new PacketBuffer(buf);
+
+            buffer.writeVarInt(getPacketId(packet));
+            packet.writePacketData(buffer);
+            return buf;
+        } catch (Exception exception) {
+            buf.release();
+            throw new IllegalStateException("Could not encode " + packet.getClass().getSimpleName(), exception);
+        }
+    }
+
+    public static ByteBuf encodeAttack(ByteBufAllocator alloc, int entityId) {
+        ByteBuf buf = alloc.ioBuffer(PacketTemplate.attackHead.length + 5 + PacketTemplate.attackTail.length);
+
+        buf.writeBytes(PacketTemplate.attackHead);
+        (new PacketBuffer(buf)).writeVarInt(entityId);
+        buf.writeBytes(PacketTemplate.attackTail);
+        return buf;
+    }
+
+    public static ByteBuf encodePlace(ByteBufAllocator alloc, BlockPos pos, EnumHand hand) {
+        ByteBuf buf = alloc.ioBuffer(PacketTemplate.place.length);
+
+        buf.writeBytes(PacketTemplate.place);
+        buf.setLong(PacketTemplate.placePos, pos.toLong());
+        buf.setByte(PacketTemplate.placeHand, hand.ordinal());
+        return buf;
+    }
+
+    public static long getWritten() {
+        return PacketTemplate.written.sum();
+    }
+
+    public static long getMismatches() {
+        return PacketTemplate.mismatches.sum();
+    }
+
+    public static void resetWritten() {
+        PacketTemplate.written.reset();
+        PacketTemplate.mismatches.reset();
+    }
+
+    public static boolean isVerifying() {
+        return PacketTemplate.verify;
+    }
+
+    public static void setVerifying(boolean verify) {
+        PacketTemplate.verify = verify;
+    }
+
+    static int getPacketId(Packet packet) throws Exception {
+        return EnumConnectionState.PLAY.getPacketId(EnumPacketDirection.SERVERBOUND, packet).intValue();
+    }
+
+    static byte[] toArray(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    static {
+        CPacketUseEntity attack = new CPacketUseEntity();
+
+        ((ICPacketUseEntity) attack).setEntityId(0);
+        ((ICPacketUseEntity) attack).setAction(Action.ATTACK);
+        byte[] shape = toArray(encode(UnpooledByteBufAllocator.DEFAULT, attack));
+        int head = shape.length - 2;
+
+        attackHead = new byte[head];
+        attackTail = new byte[shape.length - head - 1];
+        System.arraycopy(shape, 0, PacketTemplate.attackHead, 0, head);
+        System.arraycopy(shape, head + 1, PacketTemplate.attackTail, 0, PacketTemplate.attackTail.length);
+        place = toArray(encode(UnpooledByteBufAllocator.DEFAULT, new CPacketPlayerTryUseItemOnBlock(BlockPos.ORIGIN, EnumFacing.UP, EnumHand.MAIN_HAND, 0.0F, 0.0F, 0.0F)));
+        placePos = PacketTemplate.place.length - 22;
+        placeHand = PacketTemplate.place.length - 13;
+    }
+}
@@ -1,11 +1,24 @@
 package tech.mmmax.kami.api.utils.player;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import net.minecraft.network.play.client.CPacketPlayer;
+import net.minecraft.network.play.client.CPacketPlayer.Position;
+import net.minecraft.network.play.client.CPacketPlayer.PositionRotation;
+import net.minecraft.network.play.client.CPacketPlayer.Rotation;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.PostPacketEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.wrapper.IMinecraft;
 import tech.mmmax.kami.mixin.mixins.access.ICPacketPlayer;
@@ -13,39 +26,199 @@ import tech.mmmax.kami.mixin.mixins.access.ICPacketPlayer;
 public class RotationUtil implements IMinecraft {
 
     public static RotationUtil INSTANCE;
-    public boolean rotating = false;
-    public float yaw;
-    public float pitch;
     public float rotatedYaw;
     public float rotatedPitch;
+    final Map requests = new ConcurrentHashMap();
+    final LongAdder rewritten = new LongAdder();
+    final LongAdder upgraded = new LongAdder();
+    final LongAdder downgraded = new LongAdder();
+    final LongAdder elided = new LongAdder();
+    RotationUtil.Request winner;
+    boolean sent;
+    boolean spoofed;
+    boolean locked;
+    boolean replacing;
+    boolean lastOnGround;
+    int ticks;
+    long order;
 
     public RotationUtil() {
         MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
     }
 
     @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            ++this.ticks;
+            this.locked = false;
+            this.requests.values().removeIf((request) -> {
+                return ((RotationUtil.Request) request).expires < this.ticks;
+            });
+            this.resolve();
+        }
+
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayer.class},
+        time = { PacketEvent.Time.Send}
+    )
     public void onPacket(PacketEvent event) {
-        if (!NullUtils.nullCheck()) {
-            if (event.getTime() == PacketEvent.Time.Send && this.rotating && event.getPacket() instanceof CPacketPlayer) {
-                ((ICPacketPlayer) ((CPacketPlayer) event.getPacket())).setYaw(this.yaw);
-                ((ICPacketPlayer) ((CPacketPlayer) event.getPacket())).setPitch(this.pitch);
-                this.rotatedYaw = this.yaw;
-                this.rotatedPitch = this.pitch;
+        if (!NullUtils.nullCheck() && !this.replacing) {
+            CPacketPlayer packet = (CPacketPlayer) event.getPacket();
+            float yaw = packet.getYaw(Float.NaN);
+            boolean rotating = !Float.isNaN(yaw);
+            boolean moving = !Double.isNaN(packet.getX(Double.NaN));
+            float[] target = this.getTarget();
+
+            if (target != null && !this.isSent(target[0], target[1])) {
+                if (rotating) {
+                    ((ICPacketPlayer) packet).setYaw(target[0]);
+                    ((ICPacketPlayer) packet).setPitch(target[1]);
+                    this.rewritten.increment();
+                } else {
+                    event.setCanceled(true);
+                    this.replace(moving ? new PositionRotation(packet.getX(0.0D), packet.getY(0.0D), packet.getZ(0.0D), target[0], target[1], packet.isOnGround()) : new Rotation(target[0], target[1], packet.isOnGround()));
+                    this.upgraded.increment();
+                }
+
+                this.locked = true;
+            } else if (target != null && rotating) {
+                event.setCanceled(true);
+                if (moving) {
+                    this.replace(new Position(packet.getX(0.0D), packet.getY(0.0D), packet.getZ(0.0D), packet.isOnGround()));
+                    this.downgraded.increment();
+                } else if (packet.isOnGround() != this.lastOnGround) {
+                    this.replace(new CPacketPlayer(packet.isOnGround()));
+                    this.downgraded.increment();
+                } else {
+                    this.elided.increment();
+                }
+            }
+
+            if (this.winner == null && target != null) {
+                this.spoofed = false;
+            }
+
+            this.lastOnGround = packet.isOnGround();
+        }
+    }
+
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayer.class},
+        time = { PacketEvent.Time.Send}
+    )
+    public void onPostPacket(PostPacketEvent event) {
+        CPacketPlayer packet = (CPacketPlayer) event.getPacket();
+        float yaw = packet.getYaw(Float.NaN);
+
+        if (!Float.isNaN(yaw)) {
+            this.setSent(yaw, packet.getPitch(0.0F));
+        }
+
+    }
+
+    public void submit(Object owner, Vec3d vec, int priority, int ttl) {
+        float[] rotations = getNeededRotations(vec);
+
+        this.submit(owner, rotations[0], rotations[1], priority, ttl);
+    }
+
+    public void submit(Object owner, float yaw, float pitch, int priority, int ttl) {
+        this.requests.put(owner, new RotationUtil.Request(owner, yaw, pitch, priority, this.ticks + ttl, this.order++));
+        if (!this.locked) {
+            this.resolve();
+        }
+
+    }
+
+    public void release(Object owner) {
+        if (this.requests.remove(owner) != null && !this.locked) {
+            this.resolve();
+        }
+
+    }
+
+    public boolean isRotated(Object owner) {
+        RotationUtil.Request request = (RotationUtil.Request) this.requests.get(owner);
+
+        return request != null && this.isSent(request.yaw, request.pitch);
+    }
+
+    public boolean isRotating() {
+        return this.winner != null;
+    }
+
+    public long getRewritten() {
+        return this.rewritten.sum();
+    }
+
+    public long getUpgraded() {
+        return this.upgraded.sum();
+    }
+
+    public long getDowngraded() {
+        return this.downgraded.sum();
+    }
+
+    public long getElided() {
+        return this.elided.sum();
+    }
+
+    public void resetCounters() {
+        this.rewritten.reset();
+        this.upgraded.reset();
+        this.downgraded.reset();
+        this.elided.reset();
+    }
+
+    void resolve() {
+        RotationUtil.Request best = null;
+        Iterator iterator = this.requests.values().iterator();
+
+        while (iterator.hasNext()) {
+            RotationUtil.Request request = (RotationUtil.Request) iterator.next();
+
+            if (best == null || request.priority > best.priority || request.priority == best.priority && request.order > best.order) {
+                best = request;
             }
+        }
 
+        if (best != null) {
+            this.spoofed = true;
         }
+
+        this.winner = best;
     }
 
-    public void rotate(Vec3d toRotate) {
-        float[] rotations = getNeededRotations(toRotate);
+    float[] getTarget() {
+        RotationUtil.Request request = this.winner;
+
+        return request != null ? new float[] { request.yaw, request.pitch} : (this.spoofed ? new float[] { RotationUtil.mc.player.rotationYaw, RotationUtil.mc.player.rotationPitch} : null);
+    }
 
-        this.yaw = rotations[0];
-        this.pitch = rotations[1];
+    boolean isSent(float yaw, float pitch) {
+        return this.sent && this.rotatedYaw == yaw && this.rotatedPitch == pitch;
     }
 
-    public void resetRotations() {
-        this.yaw = RotationUtil.mc.player.rotationYaw;
-        this.pitch = RotationUtil.mc.player.rotationPitch;
+    void setSent(float yaw, float pitch) {
+        this.rotatedYaw = yaw;
+        this.rotatedPitch = pitch;
+        this.sent = true;
+    }
+
+    void replace(CPacketPlayer packet) {
+        this.replacing = true;
+
+        try {
+            RotationUtil.mc.player.connection.sendPacket(packet);
+        } finally {
+            this.replacing = false;
+        }
+
     }
 
     public static float[] getNeededRotations(Vec3d vec) {
@@ -63,4 +236,23 @@ public class RotationUtil implements IMinecraft {
     public static Vec3d getEyesPos() {
         return new Vec3d(RotationUtil.mc.player.posX, RotationUtil.mc.player.posY + (double) RotationUtil.mc.player.getEyeHeight(), RotationUtil.mc.player.posZ);
     }
+
+    static class Request {
+
+        final Object owner;
+        final float yaw;
+        final float pitch;
+        final int priority;
+        final int expires;
+        final long order;
+
+        Request(Object owner, float yaw, float pitch, int priority, int expires, long order) {
+            this.owner = owner;
+            this.yaw = yaw;
+            this.pitch = pitch;
+            this.priority = priority;
+            this.expires = expires;
+            this.order = order;
+        }
+    }
 }
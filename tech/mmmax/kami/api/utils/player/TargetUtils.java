@@ -1,28 +1,39 @@
 package tech.mmmax.kami.api.utils.player;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.function.Predicate;
-import java.util.function.ToDoubleFunction;
+import java.util.Iterator;
+import java.util.List;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.entity.player.EntityPlayer;
+import tech.mmmax.kami.api.management.EntityManager;
 import tech.mmmax.kami.api.management.FriendManager;
 import tech.mmmax.kami.api.wrapper.IMinecraft;
 
 public class TargetUtils implements IMinecraft {
 
     public static EntityLivingBase getTarget(double targetRange) {
-        return (EntityLivingBase) TargetUtils.mc.world.getLoadedEntityList().stream().filter((entity) -> {
-            return entity instanceof EntityPlayer;
-        }).filter(TargetUtils::isAlive).filter((entity) -> {
-            return entity.getEntityId() != TargetUtils.mc.player.getEntityId();
-        }).filter((entity) -> {
-            return !FriendManager.INSTANCE.isFriend(entity);
-        }).filter((entity) -> {
-            return (double) TargetUtils.mc.player.getDistance(entity) <= targetRange;
-        }).min(Comparator.comparingDouble((entity) -> {
-            return (double) TargetUtils.mc.player.getDistance(entity);
-        })).orElse((Object) null);
+        return (EntityLivingBase) EntityManager.INSTANCE.getNearest(EntityManager.Kind.Player, TargetUtils.mc.player, targetRange, (entity) -> {
+            return TargetUtils.isAlive((Entity) entity) && ((Entity) entity).getEntityId() != TargetUtils.mc.player.getEntityId() && !FriendManager.INSTANCE.isFriend((Entity) entity);
+        });
+    }
+
+    public static List getTargets(double targetRange) {
+        ArrayList targets = new ArrayList();
+        Iterator iterator = EntityManager.INSTANCE.getEntities(EntityManager.Kind.Player, TargetUtils.mc.player, targetRange).iterator();
+
+        while (iterator.hasNext()) {
+            Entity entity = (Entity) iterator.next();
+
+            if (TargetUtils.isAlive(entity) && entity.getEntityId() != TargetUtils.mc.player.getEntityId() && !FriendManager.INSTANCE.isFriend(entity)) {
+                targets.add(entity);
+            }
+        }
+
+        targets.sort(Comparator.comparingDouble((entity) -> {
+            return TargetUtils.mc.player.getDistanceSq((Entity) entity);
+        }));
+        return targets;
     }
 
     public static boolean isAlive(Entity entity) {
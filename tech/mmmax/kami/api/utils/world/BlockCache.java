@@ -0,0 +1,160 @@
+package tech.mmmax.kami.api.utils.world;
+
+import java.util.Arrays;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.BlockUpdateEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class BlockCache implements IMinecraft {
+
+    public static final int INITIAL_CAPACITY = 4096;
+    public static final int MAX_CAPACITY = 131072;
+    static long[] keys = new long[BlockCache.INITIAL_CAPACITY];
+    static IBlockState[] states = new IBlockState[BlockCache.INITIAL_CAPACITY];
+    static int[] generations = new int[BlockCache.INITIAL_CAPACITY];
+    static int generation = 1;
+    static int size;
+    static long hits;
+    static long misses;
+    static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+    public BlockCache() {
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @SubscribeEvent(
+        priority = EventPriority.HIGHEST
+    )
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            clear();
+        }
+
+    }
+
+    @Subscribe
+    public void onBlockUpdate(BlockUpdateEvent event) {
+        int slot = findSlot(event.getPos().toLong());
+
+        if (BlockCache.generations[slot] == BlockCache.generation) {
+            BlockCache.states[slot] = event.getNewState();
+        }
+
+    }
+
+    public static IBlockState getBlockState(BlockPos pos) {
+        if (!BlockCache.mc.isCallingFromMinecraftThread()) {
+            return BlockCache.mc.world.getBlockState(pos);
+        } else {
+            long key = pos.toLong();
+            int slot = findSlot(key);
+
+            if (BlockCache.generations[slot] == BlockCache.generation) {
+                ++BlockCache.hits;
+                return BlockCache.states[slot];
+            } else {
+                ++BlockCache.misses;
+                IBlockState state = BlockCache.mc.world.getBlockState(pos);
+
+                if (BlockCache.size * 4 >= BlockCache.keys.length * 3) {
+                    if (BlockCache.keys.length >= BlockCache.MAX_CAPACITY) {
+                        return state;
+                    }
+
+                    grow();
+                    slot = findSlot(key);
+                }
+
+                BlockCache.keys[slot] = key;
+                BlockCache.states[slot] = state;
+                BlockCache.generations[slot] = BlockCache.generation;
+                ++BlockCache.size;
+                return state;
+            }
+        }
+    }
+
+    public static IBlockState getBlockState(int x, int y, int z) {
+        return BlockCache.mc.isCallingFromMinecraftThread() ? getBlockState((BlockPos) BlockCache.mutable.setPos(x, y, z)) : BlockCache.mc.world.getBlockState(new BlockPos(x, y, z));
+    }
+
+    public static void clear() {
+        ++BlockCache.generation;
+        if (BlockCache.generation == Integer.MAX_VALUE) {
+            Arrays.fill(BlockCache.generations, 0);
+            BlockCache.generation = 1;
+        }
+
+        BlockCache.size = 0;
+    }
+
+    public static long getHits() {
+        return BlockCache.hits;
+    }
+
+    public static long getMisses() {
+        return BlockCache.misses;
+    }
+
+    public static double getHitRate() {
+        long total = BlockCache.hits + BlockCache.misses;
+
+        return total == 0L ? 0.0D : (double) BlockCache.hits / (double) total;
+    }
+
+    public static void resetCounters() {
+        BlockCache.hits = 0L;
+        BlockCache.misses = 0L;
+    }
+
+    static int findSlot(long key) {
+        int mask = BlockCache.keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (BlockCache.generations[slot] == BlockCache.generation && BlockCache.keys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+
+        return slot;
+    }
+
+    static void grow() {
+        long[] oldKeys = BlockCache.keys;
+        IBlockState[] oldStates = BlockCache.states;
+        int[] oldGenerations = BlockCache.generations;
+
+        BlockCache.keys = new long[oldKeys.length * 2];
+        BlockCache.states = new IBlockState[oldKeys.length * 2];
+        BlockCache.generations = new int[oldKeys.length * 2];
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldGenerations[i] == BlockCache.generation) {
+                int slot = findSlot(oldKeys[i]);
+
+                BlockCache.keys[slot] = oldKeys[i];
+                BlockCache.states[slot] = oldStates[i];
+                BlockCache.generations[slot] = BlockCache.generation;
+            }
+        }
+
+    }
+
+    static int hash(long key) {
+        long h = key * -7046029254386353131L;
+
+        return (int) (h ^ h >>> 32);
+    }
+
+    static {
+        new BlockCache();
+    }
+}
@@ -1,8 +1,11 @@
 package tech.mmmax.kami.api.utils.world;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockAir;
 import net.minecraft.block.BlockLiquid;
@@ -18,26 +21,18 @@ import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.utils.collections.ExpiringLongSet;
 import tech.mmmax.kami.api.wrapper.IMinecraft;
 
 public class BlockUtils implements IMinecraft {
 
-    static List tickCache = new ArrayList();
-
-    public BlockUtils() {
-        MinecraftForge.EVENT_BUS.register(this);
-    }
-
-    @SubscribeEvent
-    public void onUpdate(ClientTickEvent event) {
-        BlockUtils.tickCache = new ArrayList();
-    }
+    static final ExpiringLongSet tickCache = new ExpiringLongSet(64, 1L, ExpiringLongSet.Unit.Ticks);
+    public static final int MAX_SPHERE_TABLES = 32;
+    static final Map sphereTables = new ConcurrentHashMap();
 
     public static boolean placeBlock(BlockPos pos, boolean sneak) {
-        Block block = BlockUtils.mc.world.getBlockState(pos).getBlock();
+        Block block = BlockCache.getBlockState(pos).getBlock();
 
         if (!(block instanceof BlockAir) && !(block instanceof BlockLiquid)) {
             return false;
@@ -58,14 +53,15 @@ public class BlockUtils implements IMinecraft {
                 EnumActionResult action = BlockUtils.mc.playerController.processRightClickBlock(BlockUtils.mc.player, BlockUtils.mc.world, neighbour, opposite, hitVec, EnumHand.MAIN_HAND);
 
                 BlockUtils.mc.getConnection().sendPacket(new CPacketEntityAction(BlockUtils.mc.player, Action.STOP_SNEAKING));
-                BlockUtils.tickCache.add(pos);
+                BlockUtils.tickCache.add(pos.toLong());
+                LatencyManager.INSTANCE.onAction(LatencyManager.Action.Block, pos.toLong());
                 return action == EnumActionResult.SUCCESS;
             }
         }
     }
 
     public static boolean placeBlock(BlockPos pos, boolean sneak, EnumHand hand) {
-        Block block = BlockUtils.mc.world.getBlockState(pos).getBlock();
+        Block block = BlockCache.getBlockState(pos).getBlock();
 
         if (!(block instanceof BlockAir) && !(block instanceof BlockLiquid)) {
             return false;
@@ -86,14 +82,15 @@ public class BlockUtils implements IMinecraft {
                 EnumActionResult action = BlockUtils.mc.playerController.processRightClickBlock(BlockUtils.mc.player, BlockUtils.mc.world, neighbour, opposite, hitVec, hand);
 
                 BlockUtils.mc.getConnection().sendPacket(new CPacketEntityAction(BlockUtils.mc.player, Action.STOP_SNEAKING));
-                BlockUtils.tickCache.add(pos);
+                BlockUtils.tickCache.add(pos.toLong());
+                LatencyManager.INSTANCE.onAction(LatencyManager.Action.Block, pos.toLong());
                 return action == EnumActionResult.SUCCESS;
             }
         }
     }
 
     public static void breakBlock(BlockPos p) {
-        Block block = BlockUtils.mc.world.getBlockState(p).getBlock();
+        Block block = BlockCache.getBlockState(p).getBlock();
         EnumFacing side = getPlaceableSide(p);
 
         BlockUtils.mc.player.connection.sendPacket(new CPacketPlayerDigging(net.minecraft.network.play.client.CPacketPlayerDigging.Action.START_DESTROY_BLOCK, p, side));
@@ -109,9 +106,9 @@ public class BlockUtils implements IMinecraft {
             EnumFacing side = aenumfacing[j];
             BlockPos neighbour = pos.offset(side);
 
-            if (BlockUtils.mc.world.getBlockState(neighbour).getBlock().canCollideCheck(BlockUtils.mc.world.getBlockState(neighbour), false) || BlockUtils.tickCache.contains(neighbour)) {
-                IBlockState blockState = BlockUtils.mc.world.getBlockState(neighbour);
+            IBlockState blockState = BlockCache.getBlockState(neighbour);
 
+            if (blockState.getBlock().canCollideCheck(blockState, false) || BlockUtils.tickCache.contains(neighbour.toLong())) {
                 if (!blockState.getMaterial().isReplaceable()) {
                     return side;
                 }
@@ -129,9 +126,9 @@ public class BlockUtils implements IMinecraft {
             EnumFacing side = aenumfacing[j];
             BlockPos neighbour = pos.offset(side);
 
-            if (BlockUtils.mc.world.getBlockState(neighbour).getBlock().canCollideCheck(BlockUtils.mc.world.getBlockState(neighbour), false)) {
-                IBlockState blockState = BlockUtils.mc.world.getBlockState(neighbour);
+            IBlockState blockState = BlockCache.getBlockState(neighbour);
 
+            if (blockState.getBlock().canCollideCheck(blockState, false)) {
                 if (!blockState.getMaterial().isReplaceable()) {
                     return side;
                 }
@@ -158,32 +155,105 @@ public class BlockUtils implements IMinecraft {
     }
 
     public static List getSphere(double range, BlockPos pos, boolean sphere, boolean hollow) {
-        ArrayList circleblocks = new ArrayList();
+        int[] offsets = getSphereOffsets(range, sphere, hollow);
+        ArrayList circleblocks = new ArrayList(offsets.length);
+
+        for (int i = 0; i < offsets.length; ++i) {
+            circleblocks.add(pos.add(unpackX(offsets[i]), unpackY(offsets[i]), unpackZ(offsets[i])));
+        }
+
+        return circleblocks;
+    }
+
+    public static boolean visitSphere(double range, BlockPos pos, boolean sphere, boolean hollow, IBlockVisitor visitor) {
+        int[] offsets = getSphereOffsets(range, sphere, hollow);
+        BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
         int cx = pos.getX();
         int cy = pos.getY();
         int cz = pos.getZ();
 
-        for (int x = cx - (int) range; (double) x <= (double) cx + range; ++x) {
-            for (int z = cz - (int) range; (double) z <= (double) cz + range; ++z) {
-                for (int y = sphere ? cy - (int) range : cy; (double) y < (sphere ? (double) cy + range : (double) cy + range); ++y) {
-                    double dist = (double) ((cx - x) * (cx - x) + (cz - z) * (cz - z) + (sphere ? (cy - y) * (cy - y) : 0));
+        for (int i = 0; i < offsets.length; ++i) {
+            int packed = offsets[i];
 
-                    if (dist < range * range && (!hollow || dist >= (range - 1.0D) * (range - 1.0D))) {
-                        BlockPos l = new BlockPos(x, y, z);
+            if (!visitor.visit(mutable.setPos(cx + unpackX(packed), cy + unpackY(packed), cz + unpackZ(packed)))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static int[] getSphereOffsets(double range, boolean sphere, boolean hollow) {
+        Long key = Long.valueOf(getSphereKey(range, sphere, hollow));
+        int[] offsets = (int[]) BlockUtils.sphereTables.get(key);
 
-                        circleblocks.add(l);
+        if (offsets == null) {
+            offsets = createSphereTable(range, sphere, hollow);
+            if (BlockUtils.sphereTables.size() >= BlockUtils.MAX_SPHERE_TABLES) {
+                BlockUtils.sphereTables.clear();
+            }
+
+            BlockUtils.sphereTables.put(key, offsets);
+        }
+
+        return offsets;
+    }
+
+    static long getSphereKey(double range, boolean sphere, boolean hollow) {
+        long outer = (long) Math.ceil(range * range);
+        long inner = hollow ? (long) Math.max(0.0D, Math.ceil((range - 1.0D) * (range - 1.0D))) : 0L;
+        long height = sphere ? 0L : (long) Math.max(0.0D, Math.ceil(range));
+
+        return outer << 32 | (inner & 1048575L) << 12 | (height & 1023L) << 2 | (long) (sphere ? 2 : 0) | (long) (hollow ? 1 : 0);
+    }
+
+    static int[] createSphereTable(double range, boolean sphere, boolean hollow) {
+        ArrayList cells = new ArrayList();
+
+        for (int x = -((int) range); (double) x <= range; ++x) {
+            for (int z = -((int) range); (double) z <= range; ++z) {
+                for (int y = sphere ? -((int) range) : 0; (double) y < range; ++y) {
+                    double dist = (double) (x * x + z * z + (sphere ? y * y : 0));
+
+                    if (dist < range * range && (!hollow || dist >= (range - 1.0D) * (range - 1.0D))) {
+                        cells.add(new int[] { pack(x, y, z), x * x + y * y + z * z});
                     }
                 }
             }
         }
 
-        return circleblocks;
+        cells.sort(Comparator.comparingInt((cell) -> {
+            return ((int[]) cell)[1];
+        }));
+        int[] offsets = new int[cells.size()];
+
+        for (int i = 0; i < offsets.length; ++i) {
+            offsets[i] = ((int[]) cells.get(i))[0];
+        }
+
+        return offsets;
+    }
+
+    static int pack(int x, int y, int z) {
+        return (x + 512) << 20 | (y + 512) << 10 | z + 512;
+    }
+
+    public static int unpackX(int packed) {
+        return (packed >> 20 & 1023) - 512;
+    }
+
+    public static int unpackY(int packed) {
+        return (packed >> 10 & 1023) - 512;
+    }
+
+    public static int unpackZ(int packed) {
+        return (packed & 1023) - 512;
     }
 
     public static boolean canPlaceBlock(BlockPos pos) {
         boolean allow = true;
 
-        if (!BlockUtils.mc.world.getBlockState(pos).getMaterial().isReplaceable()) {
+        if (!BlockCache.getBlockState(pos).getMaterial().isReplaceable()) {
             allow = false;
         }
 
@@ -197,8 +267,4 @@ public class BlockUtils implements IMinecraft {
 
         return allow;
     }
-
-    static {
-        new BlockUtils();
-    }
 }
@@ -1,11 +1,18 @@
 package tech.mmmax.kami.api.utils.world;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
@@ -26,23 +33,110 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.util.math.RayTraceResult.Type;
 import net.minecraft.world.Explosion;
+import tech.mmmax.kami.api.management.CrystalManager;
+import tech.mmmax.kami.api.management.DamageManager;
+import tech.mmmax.kami.api.management.EntityManager;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.utils.collections.ExpiringIntSet;
+import tech.mmmax.kami.api.utils.collections.ExpiringLongSet;
 import tech.mmmax.kami.api.wrapper.IMinecraft;
 import tech.mmmax.kami.mixin.mixins.access.ICPacketUseEntity;
 
 public class CrystalUtil implements IMinecraft {
 
-    public static List hitCrystals = new ArrayList();
-    public static List placedPositions = new ArrayList();
+    public static final ExpiringIntSet hitCrystals = new ExpiringIntSet(1024, 1000L, ExpiringLongSet.Unit.Millis);
+    public static final ExpiringLongSet placedPositions = new ExpiringLongSet(256, 1000L, ExpiringLongSet.Unit.Millis);
+    public static final int SPLIT_THRESHOLD = 8;
+    public static final double LETHAL_WEIGHT = 1000.0D;
+    static final Map pools = new ConcurrentHashMap();
 
     public static EntityEnderCrystal getCrystalToBreak(boolean inhibit, double range) {
-        return (EntityEnderCrystal) CrystalUtil.mc.world.loadedEntityList.stream().filter(test<invokedynamic>()).filter(test<invokedynamic>(range)).filter(test<invokedynamic>(inhibit)).min(Comparator.comparingDouble(applyAsDouble<invokedynamic>())).orElse((Object) null);
+        return (EntityEnderCrystal) EntityManager.INSTANCE.getNearest(EntityManager.Kind.Crystal, CrystalUtil.mc.player, range, (entity) -> {
+            return !inhibit || !CrystalUtil.hitCrystals.contains(((Entity) entity).getEntityId());
+        });
     }
 
     public static CrystalUtil.Crystal getPlacePos(Entity target, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
+        List positions = getCandidatePositions(range, oneThirteen, placeBlocks);
+        CrystalUtil.Candidate[] candidates = new CrystalUtil.Candidate[positions.size()];
+
+        for (int i = 0; i < candidates.length; ++i) {
+            BlockPos pos = (BlockPos) positions.get(i);
+            double bound = (double) getDamageBound((double) pos.getX() + 0.5D, (double) pos.getY() + 1.0D, (double) pos.getZ() + 0.5D, target, moveFactor);
+
+            if (antiSuicide && antiSuicideFactor > 0.0D && CrystalUtil.mc.player.getDistanceSq((double) pos.getX() + 0.5D, (double) pos.getY() + 1.0D, (double) pos.getZ() + 0.5D) > 144.0D) {
+                bound = Double.MAX_VALUE;
+            }
+
+            candidates[i] = new CrystalUtil.Candidate(pos, i, bound);
+        }
+
+        Arrays.sort(candidates, (a, b) -> {
+            return a.bound != b.bound ? Double.compare(b.bound, a.bound) : Integer.compare(a.index, b.index);
+        });
+        float health = CrystalUtil.mc.player.getHealth() + CrystalUtil.mc.player.getAbsorptionAmount();
+        CrystalUtil.Crystal best = null;
+        double bestScore = 0.0D;
+        int bestIndex = Integer.MAX_VALUE;
+
+        for (int i = 0; i < candidates.length; ++i) {
+            CrystalUtil.Candidate candidate = candidates[i];
+
+            if (candidate.bound < minDamage || best != null && Double.compare(candidate.bound, bestScore) < 0) {
+                break;
+            }
+
+            if (best == null || Double.compare(candidate.bound, bestScore) != 0 || candidate.index <= bestIndex) {
+                BlockPos pos = candidate.pos;
+
+                if ((!placeInhibit || !CrystalUtil.placedPositions.contains(pos.toLong())) && canPlaceCrystal2(pos) && canSeePlacement(pos, shrinkFactor, wallRange, raytraceHits)) {
+                    float enemyDamage = calculateDamage((double) pos.getX() + 0.5D, (double) pos.getY() + 1.0D, (double) pos.getZ() + 0.5D, target, moveFactor);
+
+                    if ((double) enemyDamage >= minDamage) {
+                        float selfDamage = calculateDamage((double) pos.getX() + 0.5D, (double) pos.getY() + 1.0D, (double) pos.getZ() + 0.5D, Minecraft.getMinecraft().player, 0.0D);
+
+                        if (!antiSuicide || (double) selfDamage <= maxSelfDamage && selfDamage <= enemyDamage && health - selfDamage > 0.0F) {
+                            double score = antiSuicide ? (double) enemyDamage - (double) selfDamage * antiSuicideFactor : (double) enemyDamage;
+
+                            if (best == null || Double.compare(score, bestScore) > 0 || Double.compare(score, bestScore) == 0 && candidate.index < bestIndex) {
+                                best = new CrystalUtil.Crystal(pos, enemyDamage, selfDamage);
+                                bestScore = score;
+                                bestIndex = candidate.index;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    public static CrystalUtil.Crystal getPlacePos(Entity target, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor, int workers) {
+        return workers <= 0 ? getPlacePos(target, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor) : getPlacePos(Collections.singletonList(target), CrystalUtil.Objective.Max, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor, workers);
+    }
+
+    public static CrystalUtil.Crystal getPlacePos(List targets, CrystalUtil.Objective objective, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor, int workers) {
+        if (targets.isEmpty()) {
+            return null;
+        } else if (targets.size() == 1 && objective != CrystalUtil.Objective.Lethal && workers <= 0) {
+            return getPlacePos((Entity) targets.get(0), range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor);
+        } else {
+            CrystalUtil.Query query = createQuery(targets, objective, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor);
+
+            if (query == null) {
+                return null;
+            } else {
+                CrystalUtil.Result result = workers > 0 && query.snapshot != null ? (CrystalUtil.Result) getPool(workers).invoke(new CrystalUtil.Search(query, 0, query.candidates.length)) : query.search();
+
+                return result == null ? null : new CrystalUtil.Crystal(result.pos, result.enemyDamage, result.selfDamage);
+            }
+        }
+    }
+
+    public static CrystalUtil.Crystal getPlacePosExhaustive(Entity target, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
         ArrayList crystals = new ArrayList();
         Iterator iterator = getAvailablePositions(range, wallRange, oneThirteen, placeBlocks, raytraceHits, shrinkFactor).iterator();
 
@@ -52,11 +146,148 @@ public class CrystalUtil implements IMinecraft {
             crystals.add(new CrystalUtil.Crystal(pos, target, moveFactor));
         }
 
-        return (CrystalUtil.Crystal) crystals.stream().filter(test<invokedynamic>(placeInhibit)).filter(test<invokedynamic>(minDamage)).filter(test<invokedynamic>(antiSuicide, maxSelfDamage)).filter(test<invokedynamic>(antiSuicide)).max(Comparator.comparingDouble(applyAsDouble<invokedynamic>(antiSuicide, antiSuicideFactor))).orElse((Object) null);
+        return (CrystalUtil.Crystal) crystals.stream().filter((crystal) -> {
+            return !placeInhibit || !CrystalUtil.placedPositions.contains(((CrystalUtil.Crystal) crystal).crystalPos.toLong());
+        }).filter((crystal) -> {
+            return (double) ((CrystalUtil.Crystal) crystal).enemyDamage >= minDamage;
+        }).filter((crystal) -> {
+            return !antiSuicide || (double) ((CrystalUtil.Crystal) crystal).selfDamage <= maxSelfDamage;
+        }).filter((crystal) -> {
+            return !antiSuicide || ((CrystalUtil.Crystal) crystal).selfDamage <= ((CrystalUtil.Crystal) crystal).enemyDamage && CrystalUtil.mc.player.getHealth() + CrystalUtil.mc.player.getAbsorptionAmount() - ((CrystalUtil.Crystal) crystal).selfDamage > 0.0F;
+        }).max(Comparator.comparingDouble((crystal) -> {
+            return antiSuicide ? (double) ((CrystalUtil.Crystal) crystal).enemyDamage - (double) ((CrystalUtil.Crystal) crystal).selfDamage * antiSuicideFactor : (double) ((CrystalUtil.Crystal) crystal).enemyDamage;
+        })).orElse((Object) null);
+    }
+
+    public static CrystalUtil.Crystal[] verify(Entity target, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
+        return new CrystalUtil.Crystal[] { getPlacePos(target, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor), getPlacePosExhaustive(target, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor)};
+    }
+
+    public static CrystalUtil.Crystal[] verify(List targets, CrystalUtil.Objective objective, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
+        CrystalUtil.Query query = targets.isEmpty() ? null : createQuery(targets, objective, range, wallRange, oneThirteen, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, placeInhibit, placeBlocks, raytraceHits, shrinkFactor);
+
+        if (query == null) {
+            return new CrystalUtil.Crystal[2];
+        } else {
+            CrystalUtil.Result pruned = query.search();
+            CrystalUtil.Result exhaustive = null;
+
+            for (int i = 0; i < query.candidates.length; ++i) {
+                exhaustive = CrystalUtil.Result.merge(exhaustive, query.evaluate(query.candidates[i]));
+            }
+
+            return new CrystalUtil.Crystal[] { pruned == null ? null : new CrystalUtil.Crystal(pruned.pos, pruned.enemyDamage, pruned.selfDamage), exhaustive == null ? null : new CrystalUtil.Crystal(exhaustive.pos, exhaustive.enemyDamage, exhaustive.selfDamage)};
+        }
+    }
+
+    static CrystalUtil.Query createQuery(List targets, CrystalUtil.Objective objective, double range, double wallRange, boolean oneThirteen, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, boolean placeInhibit, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
+        List positions = getCandidatePositions(range, oneThirteen, placeBlocks);
+        ArrayList candidates = new ArrayList();
+
+        for (int i = 0; i < positions.size(); ++i) {
+            BlockPos pos = (BlockPos) positions.get(i);
+
+            if ((!placeInhibit || !CrystalUtil.placedPositions.contains(pos.toLong())) && canPlaceCrystal2(pos)) {
+                candidates.add(new CrystalUtil.Candidate(pos, i, 0.0D));
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return null;
+        } else {
+            AxisAlignedBB region = (new AxisAlignedBB(CrystalUtil.mc.player.getPosition())).grow(range + 2.0D).union(CrystalUtil.mc.player.getEntityBoundingBox());
+            Entity[] entities = new Entity[targets.size() + 1];
+
+            for (int i = 0; i < targets.size(); ++i) {
+                entities[i] = (Entity) targets.get(i);
+                region = region.union(entities[i].getEntityBoundingBox());
+            }
+
+            entities[targets.size()] = CrystalUtil.mc.player;
+            region = region.grow(1.0D);
+            WorldSnapshot snapshot = WorldSnapshot.capture(region, entities);
+            WorldSnapshot.EntityState[] states = new WorldSnapshot.EntityState[entities.length];
+
+            for (int i = 0; i < states.length; ++i) {
+                states[i] = snapshot != null ? snapshot.getEntity(entities[i]) : new WorldSnapshot.EntityState(entities[i]);
+            }
+
+            return new CrystalUtil.Query(snapshot, Raycaster.Occupancy.build(snapshot, region), (CrystalUtil.Candidate[]) candidates.toArray(new CrystalUtil.Candidate[0]), (WorldSnapshot.EntityState[]) Arrays.copyOf(states, targets.size()), objective, states[targets.size()], BlockUtils.getEyesPos(), new Vec3d(CrystalUtil.mc.player.posX + (double) (CrystalUtil.mc.player.width / 2.0F), CrystalUtil.mc.player.posY, CrystalUtil.mc.player.posZ + (double) (CrystalUtil.mc.player.width / 2.0F)), wallRange, moveFactor, antiSuicide, antiSuicideFactor, minDamage, maxSelfDamage, raytraceHits, shrinkFactor);
+        }
+    }
+
+    static ForkJoinPool getPool(int workers) {
+        return (ForkJoinPool) CrystalUtil.pools.computeIfAbsent(Integer.valueOf(workers), (key) -> {
+            return new ForkJoinPool(((Integer) key).intValue(), (pool) -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+                thread.setName("Kami Placement " + key + "-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, (Thread.UncaughtExceptionHandler) null, false);
+        });
     }
 
     public static List getAvailablePositions(double range, double wallRange, boolean oneThirteen, boolean placeBlocks, int raytraceHits, double shrinkFactor) {
-        return (List) BlockUtils.getSphere(range, CrystalUtil.mc.player.getPosition(), true, false).stream().filter(test<invokedynamic>(oneThirteen, placeBlocks)).filter(test<invokedynamic>()).filter(test<invokedynamic>(shrinkFactor, wallRange, raytraceHits)).collect(Collectors.toList());
+        ArrayList positions = new ArrayList();
+        Iterator iterator = getCandidatePositions(range, oneThirteen, placeBlocks).iterator();
+
+        while (iterator.hasNext()) {
+            BlockPos pos = (BlockPos) iterator.next();
+
+            if (canPlaceCrystal2(pos) && canSeePlacement(pos, shrinkFactor, wallRange, raytraceHits)) {
+                positions.add(pos);
+            }
+        }
+
+        return positions;
+    }
+
+    public static List getCandidatePositions(double range, boolean oneThirteen, boolean placeBlocks) {
+        ArrayList positions = new ArrayList();
+        BlockPos center = CrystalUtil.mc.player.getPosition();
+
+        if (!placeBlocks && CrystalManager.INSTANCE != null && CrystalManager.INSTANCE.isIndexed(range, center)) {
+            List bases = CrystalManager.INSTANCE.getBases(range, center, oneThirteen);
+
+            bases.sort(Comparator.comparingDouble((pos) -> {
+                return center.distanceSq((BlockPos) pos);
+            }).thenComparingInt((pos) -> {
+                return ((BlockPos) pos).getX();
+            }).thenComparingInt((pos) -> {
+                return ((BlockPos) pos).getZ();
+            }).thenComparingInt((pos) -> {
+                return ((BlockPos) pos).getY();
+            }));
+            Iterator iterator = bases.iterator();
+
+            while (iterator.hasNext()) {
+                BlockPos pos = (BlockPos) iterator.next();
+
+                if (canPlaceCrystal1(pos, oneThirteen, false)) {
+                    positions.add(pos);
+                }
+            }
+
+            return positions;
+        } else {
+            BlockUtils.visitSphere(range, center, true, false, (pos) -> {
+                if (canPlaceCrystal1(pos, oneThirteen, placeBlocks)) {
+                    positions.add(pos.toImmutable());
+                }
+
+                return true;
+            });
+            return positions;
+        }
+    }
+
+    public static boolean canSeePlacement(BlockPos pos, double shrinkFactor, double wallRange, int raytraceHits) {
+        return canSeePlacement((WorldSnapshot) null, pos, shrinkFactor, wallRange, raytraceHits, BlockUtils.getEyesPos(), new Vec3d(CrystalUtil.mc.player.posX + (double) (CrystalUtil.mc.player.width / 2.0F), CrystalUtil.mc.player.posY, CrystalUtil.mc.player.posZ + (double) (CrystalUtil.mc.player.width / 2.0F)));
+    }
+
+    public static boolean canSeePlacement(WorldSnapshot snapshot, BlockPos pos, double shrinkFactor, double wallRange, int raytraceHits, Vec3d eyesPos, Vec3d playerPos) {
+        return doSmartRaytrace(snapshot, eyesPos, (new AxisAlignedBB((double) pos.getX() + 0.5D - 1.0D, (double) pos.getY(), (double) pos.getZ() + 0.5D - 1.0D, (double) pos.getX() + 0.5D + 1.0D, (double) (pos.getY() + 2), (double) pos.getZ() + 0.5D + 1.0D)).shrink(shrinkFactor), playerPos, wallRange, raytraceHits);
     }
 
     public static EnumHand getCrystalHand() {
@@ -64,6 +295,7 @@ public class CrystalUtil implements IMinecraft {
     }
 
     public static void placeCrystal(BlockPos pos, boolean packet, EnumHand swingArm) {
+        LatencyManager.INSTANCE.onAction(LatencyManager.Action.Place, pos.toLong());
         if (packet) {
             CrystalUtil.mc.player.connection.sendPacket(new CPacketPlayerTryUseItemOnBlock(pos, EnumFacing.UP, getCrystalHand(), 0.0F, 0.0F, 0.0F));
         } else {
@@ -74,36 +306,39 @@ public class CrystalUtil implements IMinecraft {
             CrystalUtil.mc.player.swingArm(swingArm);
         }
 
-        CrystalUtil.placedPositions.add(pos);
+        CrystalUtil.placedPositions.add(pos.toLong());
     }
 
     public static void breakCrystal(EntityEnderCrystal entityEnderCrystal) {
+        LatencyManager.INSTANCE.onAttack(entityEnderCrystal.posX, entityEnderCrystal.posY, entityEnderCrystal.posZ);
         CrystalUtil.mc.getConnection().sendPacket(new CPacketUseEntity(entityEnderCrystal));
-        CrystalUtil.hitCrystals.add(Integer.valueOf(entityEnderCrystal.getEntityId()));
+        CrystalUtil.hitCrystals.add(entityEnderCrystal.getEntityId());
         CrystalUtil.placedPositions.clear();
     }
 
     public static void breakCrystal(int id) {
-        CPacketUseEntity packet = new CPacketUseEntity();
-
-        ((ICPacketUseEntity) packet).setEntityId(id);
-        ((ICPacketUseEntity) packet).setAction(Action.ATTACK);
-        CrystalUtil.mc.player.connection.sendPacket(packet);
-        CrystalUtil.hitCrystals.add(Integer.valueOf(id));
+        sendAttack(id);
+        CrystalUtil.hitCrystals.add(id);
         CrystalUtil.placedPositions.clear();
     }
 
     public static void breakCrystalNoAdd(int id) {
+        sendAttack(id);
+        CrystalUtil.placedPositions.clear();
+    }
+
+    static void sendAttack(int id) {
         CPacketUseEntity packet = new CPacketUseEntity();
 
         ((ICPacketUseEntity) packet).setEntityId(id);
         ((ICPacketUseEntity) packet).setAction(Action.ATTACK);
         CrystalUtil.mc.player.connection.sendPacket(packet);
-        CrystalUtil.placedPositions.clear();
     }
 
     public static boolean canPlaceCrystal1(BlockPos pos, boolean one13, boolean placeBlocks) {
-        return (CrystalUtil.mc.world.getBlockState(pos).getBlock() == Blocks.OBSIDIAN || CrystalUtil.mc.world.getBlockState(pos).getBlock() == Blocks.BEDROCK || placeBlocks && BlockUtils.canPlaceBlock(pos)) && CrystalUtil.mc.world.getBlockState(pos.add(0, 1, 0)).getBlock() == Blocks.AIR && (CrystalUtil.mc.world.getBlockState(pos.add(0, 2, 0)).getBlock() == Blocks.AIR || one13);
+        Block block = BlockCache.getBlockState(pos).getBlock();
+
+        return (block == Blocks.OBSIDIAN || block == Blocks.BEDROCK || placeBlocks && BlockUtils.canPlaceBlock(pos)) && BlockCache.getBlockState(pos.add(0, 1, 0)).getBlock() == Blocks.AIR && (BlockCache.getBlockState(pos.add(0, 2, 0)).getBlock() == Blocks.AIR || one13);
     }
 
     public static boolean canPlaceCrystal2(BlockPos pos) {
@@ -119,32 +354,47 @@ public class CrystalUtil implements IMinecraft {
 
                 entity = (Entity) iterator.next();
             } while (entity.isDead);
-        } while (entity instanceof EntityEnderCrystal && CrystalUtil.hitCrystals.contains(Integer.valueOf(entity.getEntityId())));
+        } while (entity instanceof EntityEnderCrystal && CrystalUtil.hitCrystals.contains(entity.getEntityId()));
 
         return false;
     }
 
     public static List getLoadedCrystalsInRange(double range) {
-        return (List) CrystalUtil.mc.world.loadedEntityList.stream().filter(test<invokedynamic>()).filter(test<invokedynamic>(range)).collect(Collectors.toList());
+        return EntityManager.INSTANCE.getEntities(EntityManager.Kind.Crystal, CrystalUtil.mc.player, range);
     }
 
     public static float calculateDamage(double posX, double posY, double posZ, Entity entity, double moveFactor) {
         try {
-            Vec3d applied = new Vec3d(entity.posX + entity.motionX * moveFactor, entity.posY + entity.motionY * moveFactor, entity.posZ + entity.motionZ * moveFactor);
-            double factor = (1.0D - applied.distanceTo(new Vec3d(posX, posY, posZ)) / 12.0D) * (double) entity.world.getBlockDensity(new Vec3d(posX, posY, posZ), entity.getEntityBoundingBox());
-            float calculatedDamage = (float) ((int) ((factor * factor + factor) / 2.0D * 7.0D * 12.0D + 1.0D));
-            double damage = 1.0D;
+            return DamageManager.INSTANCE.calculateDamage(posX, posY, posZ, entity, moveFactor);
+        } catch (Exception exception) {
+            return 0.0F;
+        }
+    }
 
-            if (entity instanceof EntityLivingBase) {
-                damage = (double) getBlastReduction((EntityLivingBase) entity, calculatedDamage * (Minecraft.getMinecraft().world.getDifficulty().getId() == 0 ? 0.0F : (Minecraft.getMinecraft().world.getDifficulty().getId() == 2 ? 1.0F : (Minecraft.getMinecraft().world.getDifficulty().getId() == 1 ? 0.5F : 1.5F))), new Explosion(Minecraft.getMinecraft().world, (Entity) null, posX, posY, posZ, 6.0F, false, true));
-            }
+    public static float getDamageBound(double posX, double posY, double posZ, Entity entity, double moveFactor) {
+        try {
+            return DamageManager.INSTANCE.getDamageBound(posX, posY, posZ, entity, moveFactor);
+        } catch (Exception exception) {
+            return Float.MAX_VALUE;
+        }
+    }
 
-            return (float) damage;
+    public static float calculateDamage(WorldSnapshot snapshot, double posX, double posY, double posZ, WorldSnapshot.EntityState entity, double moveFactor) {
+        try {
+            return DamageManager.INSTANCE.calculateDamage(snapshot, posX, posY, posZ, entity, moveFactor);
         } catch (Exception exception) {
             return 0.0F;
         }
     }
 
+    public static float getDamageBound(WorldSnapshot snapshot, double posX, double posY, double posZ, WorldSnapshot.EntityState entity, double moveFactor) {
+        try {
+            return DamageManager.INSTANCE.getDamageBound(snapshot, posX, posY, posZ, entity, moveFactor);
+        } catch (Exception exception) {
+            return Float.MAX_VALUE;
+        }
+    }
+
     public static float getBlastReduction(EntityLivingBase entity, float damage, Explosion explosion) {
         if (entity instanceof EntityPlayer) {
             damage = CombatRules.getDamageAfterAbsorb(damage, (float) entity.getTotalArmorValue(), (float) entity.getEntityAttribute(SharedMonsterAttributes.ARMOR_TOUGHNESS).getAttributeValue());
@@ -161,19 +411,12 @@ public class CrystalUtil implements IMinecraft {
     }
 
     public static boolean doSmartRaytrace(Vec3d startPos, AxisAlignedBB endBB, Vec3d playerPos, double wallRange, int hitCount) {
-        boolean allow = false;
-        int hits = 0;
-        Vec3d[] centerX = getSmartRaytraceVertex(endBB);
-        int i = centerX.length;
-
-        for (int centerY = 0; centerY < i; ++centerY) {
-            Vec3d pos = centerX[centerY];
-            RayTraceResult centerZ = CrystalUtil.mc.world.rayTraceBlocks(startPos, pos);
+        return doSmartRaytrace((WorldSnapshot) null, startPos, endBB, playerPos, wallRange, hitCount);
+    }
 
-            if (centerZ == null || centerZ.typeOfHit != Type.BLOCK) {
-                ++hits;
-            }
-        }
+    public static boolean doSmartRaytrace(WorldSnapshot snapshot, Vec3d startPos, AxisAlignedBB endBB, Vec3d playerPos, double wallRange, int hitCount) {
+        boolean allow = false;
+        int hits = Raycaster.countClearVertices(snapshot, startPos.x, startPos.y, startPos.z, endBB, hitCount);
 
         if (hits >= hitCount) {
             allow = true;
@@ -200,58 +443,6 @@ public class CrystalUtil implements IMinecraft {
         return new Vec3d[] { new Vec3d(boundingBox.minX + centerX, boundingBox.minY + centerY, boundingBox.minZ + centerZ), new Vec3d(boundingBox.minX, boundingBox.minY, boundingBox.minZ), new Vec3d(boundingBox.maxX, boundingBox.minY, boundingBox.minZ), new Vec3d(boundingBox.maxX, boundingBox.minY, boundingBox.maxZ), new Vec3d(boundingBox.minX, boundingBox.minY, boundingBox.maxZ), new Vec3d(boundingBox.minX, boundingBox.maxY, boundingBox.minZ), new Vec3d(boundingBox.maxX, boundingBox.maxY, boundingBox.minZ), new Vec3d(boundingBox.maxX, boundingBox.maxY, boundingBox.maxZ), new Vec3d(boundingBox.minX, boundingBox.maxY, boundingBox.maxZ)};
     }
 
-    private static boolean lambda$getLoadedCrystalsInRange$12(double range, Entity it) {
-        return (double) it.getDistance(CrystalUtil.mc.player) < range;
-    }
-
-    private static boolean lambda$getLoadedCrystalsInRange$11(Entity it) {
-        return it instanceof EntityEnderCrystal;
-    }
-
-    private static boolean lambda$getAvailablePositions$10(double shrinkFactor, double wallRange, int raytraceHits, BlockPos pos) {
-        return doSmartRaytrace(BlockUtils.getEyesPos(), (new AxisAlignedBB((double) pos.getX() + 0.5D - 1.0D, (double) pos.getY(), (double) pos.getZ() + 0.5D - 1.0D, (double) pos.getX() + 0.5D + 1.0D, (double) (pos.getY() + 2), (double) pos.getZ() + 0.5D + 1.0D)).shrink(shrinkFactor), new Vec3d(CrystalUtil.mc.player.posX + (double) (CrystalUtil.mc.player.width / 2.0F), CrystalUtil.mc.player.posY, CrystalUtil.mc.player.posZ + (double) (CrystalUtil.mc.player.width / 2.0F)), wallRange, raytraceHits);
-    }
-
-    private static boolean lambda$getAvailablePositions$9(boolean oneThirteen, boolean placeBlocks, BlockPos pos) {
-        return canPlaceCrystal1(pos, oneThirteen, placeBlocks);
-    }
-
-    private static double lambda$getPlacePos$8(boolean antiSuicide, double antiSuicideFactor, CrystalUtil.Crystal crystal) {
-        return antiSuicide ? (double) crystal.enemyDamage - (double) crystal.selfDamage * antiSuicideFactor : (double) crystal.enemyDamage;
-    }
-
-    private static boolean lambda$getPlacePos$7(boolean antiSuicide, CrystalUtil.Crystal crystal) {
-        return !antiSuicide || crystal.selfDamage <= crystal.enemyDamage && CrystalUtil.mc.player.getHealth() + CrystalUtil.mc.player.getAbsorptionAmount() - crystal.selfDamage > 0.0F;
-    }
-
-    private static boolean lambda$getPlacePos$6(boolean antiSuicide, double maxSelfDamage, CrystalUtil.Crystal crystal) {
-        return !antiSuicide || (double) crystal.selfDamage <= maxSelfDamage;
-    }
-
-    private static boolean lambda$getPlacePos$5(double minDamage, CrystalUtil.Crystal crystal) {
-        return (double) crystal.enemyDamage >= minDamage;
-    }
-
-    private static boolean lambda$getPlacePos$4(boolean placeInhibit, CrystalUtil.Crystal crystal) {
-        return !placeInhibit || !CrystalUtil.placedPositions.contains(crystal.crystalPos);
-    }
-
-    private static double lambda$getCrystalToBreak$3(Entity entity) {
-        return (double) CrystalUtil.mc.player.getDistance(entity);
-    }
-
-    private static boolean lambda$getCrystalToBreak$2(boolean inhibit, Entity entity) {
-        return !inhibit || !CrystalUtil.hitCrystals.contains(Integer.valueOf(entity.getEntityId()));
-    }
-
-    private static boolean lambda$getCrystalToBreak$1(double range, Entity entity) {
-        return (double) CrystalUtil.mc.player.getDistance(entity) <= range;
-    }
-
-    private static boolean lambda$getCrystalToBreak$0(Entity entity) {
-        return entity instanceof EntityEnderCrystal;
-    }
-
     public static class Crystal {
 
         float selfDamage;
@@ -266,6 +457,13 @@ public class CrystalUtil implements IMinecraft {
             this.calculate(target, moveFactor);
         }
 
+        Crystal(BlockPos crystalPos, float enemyDamage, float selfDamage) {
+            this.crystalPos = crystalPos;
+            this.enemyDamage = enemyDamage;
+            this.selfDamage = selfDamage;
+            this.startTime = System.currentTimeMillis();
+        }
+
         public float getSelfDamage() {
             return this.selfDamage;
         }
@@ -300,4 +498,282 @@ public class CrystalUtil implements IMinecraft {
             return Objects.hash(new Object[] { this.crystalPos});
         }
     }
+
+    static class Candidate {
+
+        final BlockPos pos;
+        final int index;
+        final double bound;
+
+        Candidate(BlockPos pos, int index, double bound) {
+            this.pos = pos;
+            this.index = index;
+            this.bound = bound;
+        }
+    }
+
+    static class Query {
+
+        final WorldSnapshot snapshot;
+        final Raycaster.Occupancy occupancy;
+        final CrystalUtil.Candidate[] candidates;
+        final WorldSnapshot.EntityState[] targets;
+        final CrystalUtil.Objective objective;
+        final WorldSnapshot.EntityState self;
+        final Vec3d eyesPos;
+        final Vec3d playerPos;
+        final double wallRange;
+        final double moveFactor;
+        final boolean antiSuicide;
+        final double antiSuicideFactor;
+        final double minDamage;
+        final double maxSelfDamage;
+        final int raytraceHits;
+        final double shrinkFactor;
+
+        Query(WorldSnapshot snapshot, Raycaster.Occupancy occupancy, CrystalUtil.Candidate[] candidates, WorldSnapshot.EntityState[] targets, CrystalUtil.Objective objective, WorldSnapshot.EntityState self, Vec3d eyesPos, Vec3d playerPos, double wallRange, double moveFactor, boolean antiSuicide, double antiSuicideFactor, double minDamage, double maxSelfDamage, int raytraceHits, double shrinkFactor) {
+            this.snapshot = snapshot;
+            this.occupancy = occupancy;
+            this.candidates = candidates;
+            this.targets = targets;
+            this.objective = objective;
+            this.self = self;
+            this.eyesPos = eyesPos;
+            this.playerPos = playerPos;
+            this.wallRange = wallRange;
+            this.moveFactor = moveFactor;
+            this.antiSuicide = antiSuicide;
+            this.antiSuicideFactor = antiSuicideFactor;
+            this.minDamage = minDamage;
+            this.maxSelfDamage = maxSelfDamage;
+            this.raytraceHits = raytraceHits;
+            this.shrinkFactor = shrinkFactor;
+        }
+
+        CrystalUtil.Result search() {
+            CrystalUtil.Candidate[] sorted = new CrystalUtil.Candidate[this.candidates.length];
+
+            for (int i = 0; i < sorted.length; ++i) {
+                sorted[i] = new CrystalUtil.Candidate(this.candidates[i].pos, this.candidates[i].index, this.getScoreBound(this.candidates[i].pos));
+            }
+
+            Arrays.sort(sorted, (a, b) -> {
+                return a.bound != b.bound ? Double.compare(b.bound, a.bound) : Integer.compare(a.index, b.index);
+            });
+            CrystalUtil.Result best = null;
+
+            for (int i = 0; i < sorted.length; ++i) {
+                CrystalUtil.Candidate candidate = sorted[i];
+
+                if (best != null && Double.compare(candidate.bound, best.score) < 0) {
+                    break;
+                }
+
+                if (best == null || Double.compare(candidate.bound, best.score) != 0 || candidate.index <= best.index) {
+                    best = CrystalUtil.Result.merge(best, this.evaluate(candidate, best == null ? -Double.MAX_VALUE : best.score));
+                }
+            }
+
+            return best;
+        }
+
+        float[] getBounds(double x, double y, double z) {
+            float[] bounds = new float[this.targets.length];
+
+            for (int i = 0; i < bounds.length; ++i) {
+                bounds[i] = CrystalUtil.getDamageBound(this.snapshot, x, y, z, this.targets[i], this.moveFactor);
+            }
+
+            return bounds;
+        }
+
+        float getDamageBound(float[] bounds) {
+            float bound = this.objective == CrystalUtil.Objective.Sum ? 0.0F : -Float.MAX_VALUE;
+
+            for (int i = 0; i < bounds.length; ++i) {
+                bound = this.objective == CrystalUtil.Objective.Sum ? bound + bounds[i] : Math.max(bound, bounds[i]);
+            }
+
+            return bound;
+        }
+
+        double getScoreBound(BlockPos pos) {
+            double x = (double) pos.getX() + 0.5D;
+            double y = (double) pos.getY() + 1.0D;
+            double z = (double) pos.getZ() + 0.5D;
+            double diffX = this.self.posX - x;
+            double diffY = this.self.posY - y;
+            double diffZ = this.self.posZ - z;
+
+            if (this.antiSuicide && this.antiSuicideFactor > 0.0D && diffX * diffX + diffY * diffY + diffZ * diffZ > 144.0D) {
+                return Double.MAX_VALUE;
+            } else {
+                float[] bounds = this.getBounds(x, y, z);
+                double bound = (double) this.getDamageBound(bounds);
+
+                if (this.objective == CrystalUtil.Objective.Lethal) {
+                    for (int i = 0; i < bounds.length; ++i) {
+                        if (bounds[i] >= this.targets[i].health) {
+                            bound += CrystalUtil.LETHAL_WEIGHT;
+                        }
+                    }
+                }
+
+                return bound;
+            }
+        }
+
+        CrystalUtil.Result evaluate(CrystalUtil.Candidate candidate) {
+            return this.evaluate(candidate, -Double.MAX_VALUE);
+        }
+
+        CrystalUtil.Result evaluate(CrystalUtil.Candidate candidate, double floor) {
+            BlockPos pos = candidate.pos;
+            double x = (double) pos.getX() + 0.5D;
+            double y = (double) pos.getY() + 1.0D;
+            double z = (double) pos.getZ() + 0.5D;
+            float[] bounds = this.getBounds(x, y, z);
+
+            if ((double) this.getDamageBound(bounds) < this.minDamage) {
+                return null;
+            } else if (!CrystalUtil.canSeePlacement(this.snapshot, pos, this.shrinkFactor, this.wallRange, this.raytraceHits, this.eyesPos, this.playerPos)) {
+                return null;
+            } else {
+                float max = -Float.MAX_VALUE;
+                float sum = 0.0F;
+                int lethal = 0;
+                int[] order = this.objective == CrystalUtil.Objective.Sum ? getOrder(bounds) : null;
+                double remaining = 0.0D;
+                double cutoff = this.antiSuicide && this.antiSuicideFactor < 0.0D ? this.minDamage : Math.max(this.minDamage, floor);
+
+                for (int i = 0; order != null && i < bounds.length; ++i) {
+                    remaining += (double) bounds[i];
+                }
+
+                for (int j = 0; j < this.targets.length; ++j) {
+                    int i = order == null ? j : order[j];
+
+                    if (this.objective == CrystalUtil.Objective.Sum || bounds[i] > max || this.objective == CrystalUtil.Objective.Lethal && bounds[i] >= this.targets[i].health) {
+                        float damage = this.getDamage(x, y, z, this.targets[i], this.moveFactor);
+
+                        max = Math.max(max, damage);
+                        sum += damage;
+                        if (damage >= this.targets[i].health) {
+                            ++lethal;
+                        }
+
+                        if (order != null) {
+                            remaining -= (double) bounds[i];
+                            if ((double) sum + remaining + 0.001D < cutoff) {
+                                return null;
+                            }
+                        }
+                    }
+                }
+
+                float enemyDamage = this.objective == CrystalUtil.Objective.Sum ? sum : max;
+
+                if ((double) enemyDamage < this.minDamage) {
+                    return null;
+                } else {
+                    float selfDamage = this.getDamage(x, y, z, this.self, 0.0D);
+
+                    if (this.antiSuicide && ((double) selfDamage > this.maxSelfDamage || selfDamage > enemyDamage || this.self.health - selfDamage <= 0.0F)) {
+                        return null;
+                    } else {
+                        double score = this.antiSuicide ? (double) enemyDamage - (double) selfDamage * this.antiSuicideFactor : (double) enemyDamage;
+
+                        return new CrystalUtil.Result(pos, candidate.index, enemyDamage, selfDamage, this.objective == CrystalUtil.Objective.Lethal ? score + (double) lethal * CrystalUtil.LETHAL_WEIGHT : score);
+                    }
+                }
+            }
+        }
+
+        float getDamage(double x, double y, double z, WorldSnapshot.EntityState entity, double moveFactor) {
+            if (this.occupancy.isEmpty(entity.boundingBox.union(new AxisAlignedBB(x, y, z, x, y, z)).grow(0.5625D))) {
+                try {
+                    return DamageManager.INSTANCE.calculateDamage(this.snapshot, x, y, z, entity, moveFactor, 1.0F);
+                } catch (Exception exception) {
+                    return 0.0F;
+                }
+            } else {
+                return CrystalUtil.calculateDamage(this.snapshot, x, y, z, entity, moveFactor);
+            }
+        }
+
+        static int[] getOrder(float[] bounds) {
+            int[] order = new int[bounds.length];
+
+            for (int i = 0; i < order.length; ++i) {
+                int j;
+
+                for (j = i; j > 0 && bounds[order[j - 1]] < bounds[i]; --j) {
+                    order[j] = order[j - 1];
+                }
+
+                order[j] = i;
+            }
+
+            return order;
+        }
+    }
+
+    static class Search extends RecursiveTask {
+
+        final CrystalUtil.Query query;
+        final int from;
+        final int to;
+
+        Search(CrystalUtil.Query query, int from, int to) {
+            this.query = query;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected Object compute() {
+            if (this.to - this.from <= CrystalUtil.SPLIT_THRESHOLD) {
+                CrystalUtil.Result best = null;
+
+                for (int i = this.from; i < this.to; ++i) {
+                    best = CrystalUtil.Result.merge(best, this.query.evaluate(this.query.candidates[i]));
+                }
+
+                return best;
+            } else {
+                int middle = this.from + this.to >>> 1;
+                CrystalUtil.Search left = new CrystalUtil.Search(this.query, this.from, middle);
+
+                left.fork();
+                CrystalUtil.Result right = (CrystalUtil.Result) (new CrystalUtil.Search(this.query, middle, this.to)).compute();
+
+                return CrystalUtil.Result.merge((CrystalUtil.Result) left.join(), right);
+            }
+        }
+    }
+
+    static class Result {
+
+        final BlockPos pos;
+        final int index;
+        final float enemyDamage;
+        final float selfDamage;
+        final double score;
+
+        Result(BlockPos pos, int index, float enemyDamage, float selfDamage, double score) {
+            this.pos = pos;
+            this.index = index;
+            this.enemyDamage = enemyDamage;
+            this.selfDamage = selfDamage;
+            this.score = score;
+        }
+
+        static CrystalUtil.Result merge(CrystalUtil.Result a, CrystalUtil.Result b) {
+            return a == null ? b : (b == null ? a : (Double.compare(b.score, a.score) > 0 || Double.compare(b.score, a.score) == 0 && b.index < a.index ? b : a));
+        }
+    }
+
+    public static enum Objective {
+
+        Max, Sum, Lethal;
+    }
 }
@@ -1,7 +1,6 @@
 package tech.mmmax.kami.api.utils.world;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
@@ -21,7 +20,7 @@ public class HoleUtils implements IMinecraft {
         for (int j = 0; j < i; ++j) {
             BlockPos p = ablockpos[j];
 
-            if (!HoleUtils.mc.world.getBlockState(pos.add(p)).getMaterial().isReplaceable()) {
+            if (!BlockCache.getBlockState(pos.add(p)).getMaterial().isReplaceable()) {
                 ++amount;
             }
         }
@@ -41,7 +40,7 @@ public class HoleUtils implements IMinecraft {
 
         for (int j = 0; j < i; ++j) {
             BlockPos off = ablockpos[j];
-            Block b = HoleUtils.mc.world.getBlockState(pos.add(off)).getBlock();
+            Block b = BlockCache.getBlockState(pos.add(off)).getBlock();
 
             if (!isSafeBlock(pos.add(off))) {
                 isHole = false;
@@ -50,7 +49,7 @@ public class HoleUtils implements IMinecraft {
             }
         }
 
-        if (HoleUtils.mc.world.getBlockState(pos.add(0, 2, 0)).getBlock() != Blocks.AIR || HoleUtils.mc.world.getBlockState(pos.add(0, 1, 0)).getBlock() != Blocks.AIR) {
+        if (BlockCache.getBlockState(pos.add(0, 2, 0)).getBlock() != Blocks.AIR || BlockCache.getBlockState(pos.add(0, 1, 0)).getBlock() != Blocks.AIR) {
             isHole = false;
         }
 
@@ -68,14 +67,14 @@ public class HoleUtils implements IMinecraft {
 
         for (int j = 0; j < i; ++j) {
             BlockPos off = ablockpos[j];
-            Block b = HoleUtils.mc.world.getBlockState(pos.add(off)).getBlock();
+            Block b = BlockCache.getBlockState(pos.add(off)).getBlock();
 
             if (b != Blocks.BEDROCK) {
                 isHole = false;
             }
         }
 
-        if (HoleUtils.mc.world.getBlockState(pos.add(0, 2, 0)).getBlock() != Blocks.AIR || HoleUtils.mc.world.getBlockState(pos.add(0, 1, 0)).getBlock() != Blocks.AIR) {
+        if (BlockCache.getBlockState(pos.add(0, 2, 0)).getBlock() != Blocks.AIR || BlockCache.getBlockState(pos.add(0, 1, 0)).getBlock() != Blocks.AIR) {
             isHole = false;
         }
 
@@ -87,39 +86,50 @@ public class HoleUtils implements IMinecraft {
     }
 
     public static boolean checkOffset(BlockPos pos, int offX, int offZ) {
-        return HoleUtils.mc.world.getBlockState(pos).getBlock() == Blocks.AIR && HoleUtils.mc.world.getBlockState(pos.add(offX, 0, offZ)).getBlock() == Blocks.AIR && isSafeBlock(pos.add(0, -1, 0)) && isSafeBlock(pos.add(offX, -1, offZ)) && isSafeBlock(pos.add(offX * 2, 0, offZ * 2)) && isSafeBlock(pos.add(-offX, 0, -offZ)) && isSafeBlock(pos.add(offZ, 0, offX)) && isSafeBlock(pos.add(-offZ, 0, -offX)) && isSafeBlock(pos.add(offX, 0, offZ).add(offZ, 0, offX)) && isSafeBlock(pos.add(offX, 0, offZ).add(-offZ, 0, -offX));
+        return BlockCache.getBlockState(pos).getBlock() == Blocks.AIR && BlockCache.getBlockState(pos.add(offX, 0, offZ)).getBlock() == Blocks.AIR && isSafeBlock(pos.add(0, -1, 0)) && isSafeBlock(pos.add(offX, -1, offZ)) && isSafeBlock(pos.add(offX * 2, 0, offZ * 2)) && isSafeBlock(pos.add(-offX, 0, -offZ)) && isSafeBlock(pos.add(offZ, 0, offX)) && isSafeBlock(pos.add(-offZ, 0, -offX)) && isSafeBlock(pos.add(offX, 0, offZ).add(offZ, 0, offX)) && isSafeBlock(pos.add(offX, 0, offZ).add(-offZ, 0, -offX));
     }
 
     static boolean isSafeBlock(BlockPos pos) {
-        return HoleUtils.mc.world.getBlockState(pos).getBlock() == Blocks.OBSIDIAN || HoleUtils.mc.world.getBlockState(pos).getBlock() == Blocks.BEDROCK || HoleUtils.mc.world.getBlockState(pos).getBlock() == Blocks.ENDER_CHEST;
+        return isSafeBlock(BlockCache.getBlockState(pos).getBlock());
+    }
+
+    public static boolean isSafeBlock(Block block) {
+        return block == Blocks.OBSIDIAN || block == Blocks.BEDROCK || block == Blocks.ENDER_CHEST;
     }
 
     public static List getHoles(double range, BlockPos playerPos, boolean doubles) {
         ArrayList holes = new ArrayList();
-        List circle = BlockUtils.getSphere(range, playerPos, true, false);
-        Iterator iterator = circle.iterator();
-
-        while (iterator.hasNext()) {
-            BlockPos pos = (BlockPos) iterator.next();
-
-            if (HoleUtils.mc.world.getBlockState(pos).getBlock() == Blocks.AIR) {
-                if (isObbyHole(pos)) {
-                    holes.add(new HoleUtils.Hole(false, false, pos));
-                } else if (isBedrockHoles(pos)) {
-                    holes.add(new HoleUtils.Hole(true, false, pos));
-                } else if (doubles) {
-                    HoleUtils.Hole dh = isDoubleHole(pos);
-
-                    if (dh != null && (HoleUtils.mc.world.getBlockState(dh.pos1.add(0, 1, 0)).getBlock() == Blocks.AIR || HoleUtils.mc.world.getBlockState(dh.pos2.add(0, 1, 0)).getBlock() == Blocks.AIR)) {
-                        holes.add(dh);
-                    }
+
+        BlockUtils.visitSphere(range, playerPos, true, false, (pos) -> {
+            if (BlockCache.getBlockState(pos).getBlock() == Blocks.AIR) {
+                HoleUtils.Hole hole = getHole(pos.toImmutable(), doubles);
+
+                if (hole != null) {
+                    holes.add(hole);
                 }
             }
-        }
 
+            return true;
+        });
         return holes;
     }
 
+    public static HoleUtils.Hole getHole(BlockPos pos, boolean doubles) {
+        if (BlockCache.getBlockState(pos).getBlock() != Blocks.AIR) {
+            return null;
+        } else if (isObbyHole(pos)) {
+            return new HoleUtils.Hole(false, false, pos);
+        } else if (isBedrockHoles(pos)) {
+            return new HoleUtils.Hole(true, false, pos);
+        } else if (doubles) {
+            HoleUtils.Hole dh = isDoubleHole(pos);
+
+            return dh != null && (BlockCache.getBlockState(dh.pos1.add(0, 1, 0)).getBlock() == Blocks.AIR || BlockCache.getBlockState(dh.pos2.add(0, 1, 0)).getBlock() == Blocks.AIR) ? dh : null;
+        } else {
+            return null;
+        }
+    }
+
     public static class Hole {
 
         public boolean bedrock;
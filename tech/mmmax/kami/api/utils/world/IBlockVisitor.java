@@ -0,0 +1,8 @@
+package tech.mmmax.kami.api.utils.world;
+
+import net.minecraft.util.math.BlockPos;
+
+public interface IBlockVisitor {
+
+    boolean visit(BlockPos.MutableBlockPos pos);
+}
@@ -0,0 +1,335 @@
+package tech.mmmax.kami.api.utils.world;
+
+import java.util.Arrays;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.BlockUpdateEvent;
+import tech.mmmax.kami.api.event.KamiEventBus;
+import tech.mmmax.kami.api.event.Subscribe;
+import tech.mmmax.kami.api.utils.NullUtils;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class Raycaster implements IMinecraft {
+
+    public static final int RADIUS = 16;
+    public static final int SIZE = Raycaster.RADIUS * 2 + 1;
+    public static final int MAX_STEPS = 200;
+    static final int EMPTY = 0;
+    static final int FULL = 1;
+    static final int PARTIAL = 2;
+    static final long[] known = new long[(Raycaster.SIZE * Raycaster.SIZE * Raycaster.SIZE + 63) / 64];
+    static final long[] full = new long[Raycaster.known.length];
+    static final long[] partial = new long[Raycaster.known.length];
+    static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+    static int originX;
+    static int originY;
+    static int originZ;
+    static boolean ready;
+
+    public Raycaster() {
+        MinecraftForge.EVENT_BUS.register(this);
+        KamiEventBus.INSTANCE.register(this);
+    }
+
+    @SubscribeEvent
+    public void onTick(ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            Arrays.fill(Raycaster.known, 0L);
+            Raycaster.ready = !NullUtils.nullCheck();
+            if (Raycaster.ready) {
+                Raycaster.originX = MathHelper.floor(Raycaster.mc.player.posX) - Raycaster.RADIUS;
+                Raycaster.originY = MathHelper.floor(Raycaster.mc.player.posY) - Raycaster.RADIUS;
+                Raycaster.originZ = MathHelper.floor(Raycaster.mc.player.posZ) - Raycaster.RADIUS;
+            }
+
+        }
+    }
+
+    @Subscribe
+    public void onBlockUpdate(BlockUpdateEvent event) {
+        int index = getIndex(event.getPos().getX(), event.getPos().getY(), event.getPos().getZ());
+
+        if (index != -1) {
+            Raycaster.known[index >> 6] &= ~(1L << index);
+        }
+
+    }
+
+    public static boolean isClear(double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        return isClear((WorldSnapshot) null, startX, startY, startZ, endX, endY, endZ);
+    }
+
+    public static boolean isClear(WorldSnapshot snapshot, double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        int x = MathHelper.floor(startX);
+        int y = MathHelper.floor(startY);
+        int z = MathHelper.floor(startZ);
+        int lastX = MathHelper.floor(endX);
+        int lastY = MathHelper.floor(endY);
+        int lastZ = MathHelper.floor(endZ);
+        double diffX = endX - startX;
+        double diffY = endY - startY;
+        double diffZ = endZ - startZ;
+        int stepX = diffX > 0.0D ? 1 : (diffX < 0.0D ? -1 : 0);
+        int stepY = diffY > 0.0D ? 1 : (diffY < 0.0D ? -1 : 0);
+        int stepZ = diffZ > 0.0D ? 1 : (diffZ < 0.0D ? -1 : 0);
+        double deltaX = stepX == 0 ? Double.MAX_VALUE : 1.0D / Math.abs(diffX);
+        double deltaY = stepY == 0 ? Double.MAX_VALUE : 1.0D / Math.abs(diffY);
+        double deltaZ = stepZ == 0 ? Double.MAX_VALUE : 1.0D / Math.abs(diffZ);
+        double maxX = stepX == 0 ? Double.MAX_VALUE : (stepX > 0 ? (double) (x + 1) - startX : startX - (double) x) * deltaX;
+        double maxY = stepY == 0 ? Double.MAX_VALUE : (stepY > 0 ? (double) (y + 1) - startY : startY - (double) y) * deltaY;
+        double maxZ = stepZ == 0 ? Double.MAX_VALUE : (stepZ > 0 ? (double) (z + 1) - startZ : startZ - (double) z) * deltaZ;
+
+        for (int step = 0; step < Raycaster.MAX_STEPS; ++step) {
+            int type = snapshot != null ? snapshot.getType(x, y, z) : getType(x, y, z);
+
+            if (type == Raycaster.FULL || type == Raycaster.PARTIAL && (snapshot != null ? snapshot.isPartialHit(x, y, z, startX, startY, startZ, endX, endY, endZ) : isPartialHit(x, y, z, startX, startY, startZ, endX, endY, endZ))) {
+                return false;
+            }
+
+            if (x == lastX && y == lastY && z == lastZ) {
+                return true;
+            }
+
+            if (maxX < maxY && maxX < maxZ) {
+                if (maxX > 1.0D) {
+                    return true;
+                }
+
+                x += stepX;
+                maxX += deltaX;
+            } else if (maxY < maxZ) {
+                if (maxY > 1.0D) {
+                    return true;
+                }
+
+                y += stepY;
+                maxY += deltaY;
+            } else {
+                if (maxZ > 1.0D) {
+                    return true;
+                }
+
+                z += stepZ;
+                maxZ += deltaZ;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean isClear(Vec3d start, Vec3d end) {
+        return isClear(start.x, start.y, start.z, end.x, end.y, end.z);
+    }
+
+    public static int countClear(double startX, double startY, double startZ, double[] ends, int count, int required) {
+        int clear = 0;
+
+        for (int i = 0; i < count && clear < required && clear + count - i >= required; ++i) {
+            if (isClear(startX, startY, startZ, ends[i * 3], ends[i * 3 + 1], ends[i * 3 + 2])) {
+                ++clear;
+            }
+        }
+
+        return clear;
+    }
+
+    public static int countClearVertices(double startX, double startY, double startZ, AxisAlignedBB bb, int required) {
+        return countClearVertices((WorldSnapshot) null, startX, startY, startZ, bb, required);
+    }
+
+    public static int countClearVertices(WorldSnapshot snapshot, double startX, double startY, double startZ, AxisAlignedBB bb, int required) {
+        int clear = 0;
+
+        for (int i = 0; i < 9 && clear < required && clear + 9 - i >= required; ++i) {
+            double x;
+            double y;
+            double z;
+
+            if (i == 0) {
+                x = bb.minX + (bb.maxX - bb.minX) / 2.0D;
+                y = bb.minY + (bb.maxY - bb.minY) / 2.0D;
+                z = bb.minZ + (bb.maxZ - bb.minZ) / 2.0D;
+            } else {
+                int corner = i - 1;
+
+                x = corner % 4 == 1 || corner % 4 == 2 ? bb.maxX : bb.minX;
+                y = corner < 4 ? bb.minY : bb.maxY;
+                z = corner % 4 == 2 || corner % 4 == 3 ? bb.maxZ : bb.minZ;
+            }
+
+            if (isClear(snapshot, startX, startY, startZ, x, y, z)) {
+                ++clear;
+            }
+        }
+
+        return clear;
+    }
+
+    public static float getBlockDensity(Vec3d vec, AxisAlignedBB bb) {
+        return getBlockDensity((WorldSnapshot) null, vec, bb);
+    }
+
+    public static float getBlockDensity(WorldSnapshot snapshot, Vec3d vec, AxisAlignedBB bb) {
+        double stepX = 1.0D / ((bb.maxX - bb.minX) * 2.0D + 1.0D);
+        double stepY = 1.0D / ((bb.maxY - bb.minY) * 2.0D + 1.0D);
+        double stepZ = 1.0D / ((bb.maxZ - bb.minZ) * 2.0D + 1.0D);
+        double offsetX = (1.0D - Math.floor(1.0D / stepX) * stepX) / 2.0D;
+        double offsetZ = (1.0D - Math.floor(1.0D / stepZ) * stepZ) / 2.0D;
+
+        if (stepX >= 0.0D && stepY >= 0.0D && stepZ >= 0.0D) {
+            int clear = 0;
+            int total = 0;
+
+            for (float f = 0.0F; f <= 1.0F; f = (float) ((double) f + stepX)) {
+                for (float f1 = 0.0F; f1 <= 1.0F; f1 = (float) ((double) f1 + stepY)) {
+                    for (float f2 = 0.0F; f2 <= 1.0F; f2 = (float) ((double) f2 + stepZ)) {
+                        double x = bb.minX + (bb.maxX - bb.minX) * (double) f;
+                        double y = bb.minY + (bb.maxY - bb.minY) * (double) f1;
+                        double z = bb.minZ + (bb.maxZ - bb.minZ) * (double) f2;
+
+                        if (isClear(snapshot, x + offsetX, y, z + offsetZ, vec.x, vec.y, vec.z)) {
+                            ++clear;
+                        }
+
+                        ++total;
+                    }
+                }
+            }
+
+            return (float) clear / (float) total;
+        } else {
+            return 0.0F;
+        }
+    }
+
+    static int getType(int x, int y, int z) {
+        int index = Raycaster.mc.isCallingFromMinecraftThread() ? getIndex(x, y, z) : -1;
+
+        if (index == -1) {
+            BlockPos pos = new BlockPos(x, y, z);
+
+            return classify(Raycaster.mc.world.getBlockState(pos), pos);
+        } else {
+            long bit = 1L << index;
+            int word = index >> 6;
+
+            if ((Raycaster.known[word] & bit) == 0L) {
+                int type = classify(BlockCache.getBlockState(x, y, z), Raycaster.mutable.setPos(x, y, z));
+
+                if (type == Raycaster.FULL) {
+                    Raycaster.full[word] |= bit;
+                } else {
+                    Raycaster.full[word] &= ~bit;
+                }
+
+                if (type == Raycaster.PARTIAL) {
+                    Raycaster.partial[word] |= bit;
+                } else {
+                    Raycaster.partial[word] &= ~bit;
+                }
+
+                Raycaster.known[word] |= bit;
+                return type;
+            } else {
+                return (Raycaster.full[word] & bit) != 0L ? Raycaster.FULL : ((Raycaster.partial[word] & bit) != 0L ? Raycaster.PARTIAL : Raycaster.EMPTY);
+            }
+        }
+    }
+
+    static int classify(IBlockState state, BlockPos pos) {
+        return !state.getBlock().canCollideCheck(state, false) ? Raycaster.EMPTY : (state.getBoundingBox(Raycaster.mc.world, pos) == Block.FULL_BLOCK_AABB ? Raycaster.FULL : Raycaster.PARTIAL);
+    }
+
+    static boolean isPartialHit(int x, int y, int z, double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        BlockPos pos = new BlockPos(x, y, z);
+
+        return Raycaster.mc.world.getBlockState(pos).collisionRayTrace(Raycaster.mc.world, pos, new Vec3d(startX, startY, startZ), new Vec3d(endX, endY, endZ)) != null;
+    }
+
+    static int getIndex(int x, int y, int z) {
+        if (!Raycaster.ready) {
+            return -1;
+        } else {
+            int localX = x - Raycaster.originX;
+            int localY = y - Raycaster.originY;
+            int localZ = z - Raycaster.originZ;
+
+            return localX >= 0 && localY >= 0 && localZ >= 0 && localX < Raycaster.SIZE && localY < Raycaster.SIZE && localZ < Raycaster.SIZE ? (localX * Raycaster.SIZE + localY) * Raycaster.SIZE + localZ : -1;
+        }
+    }
+
+    static {
+        new Raycaster();
+    }
+
+    public static class Occupancy {
+
+        final int[] counts;
+        final int minX;
+        final int minY;
+        final int minZ;
+        final int sizeX;
+        final int sizeY;
+        final int sizeZ;
+
+        Occupancy(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+            this.counts = new int[(sizeX + 1) * (sizeY + 1) * (sizeZ + 1)];
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+        }
+
+        public static Raycaster.Occupancy build(WorldSnapshot snapshot, AxisAlignedBB region) {
+            int minX = MathHelper.floor(region.minX);
+            int minY = MathHelper.floor(region.minY);
+            int minZ = MathHelper.floor(region.minZ);
+            Raycaster.Occupancy occupancy = new Raycaster.Occupancy(minX, minY, minZ, MathHelper.floor(region.maxX) - minX + 1, MathHelper.floor(region.maxY) - minY + 1, MathHelper.floor(region.maxZ) - minZ + 1);
+
+            for (int x = 1; x <= occupancy.sizeX; ++x) {
+                for (int y = 1; y <= occupancy.sizeY; ++y) {
+                    for (int z = 1; z <= occupancy.sizeZ; ++z) {
+                        int type = snapshot != null ? snapshot.getType(minX + x - 1, minY + y - 1, minZ + z - 1) : getType(minX + x - 1, minY + y - 1, minZ + z - 1);
+
+                        occupancy.counts[occupancy.getIndex(x, y, z)] = (type == Raycaster.EMPTY ? 0 : 1) + occupancy.get(x - 1, y, z) + occupancy.get(x, y - 1, z) + occupancy.get(x, y, z - 1) - occupancy.get(x - 1, y - 1, z) - occupancy.get(x - 1, y, z - 1) - occupancy.get(x, y - 1, z - 1) + occupancy.get(x - 1, y - 1, z - 1);
+                    }
+                }
+            }
+
+            return occupancy;
+        }
+
+        public boolean isEmpty(AxisAlignedBB box) {
+            int x0 = MathHelper.floor(box.minX) - this.minX;
+            int y0 = MathHelper.floor(box.minY) - this.minY;
+            int z0 = MathHelper.floor(box.minZ) - this.minZ;
+            int x1 = MathHelper.floor(box.maxX) - this.minX + 1;
+            int y1 = MathHelper.floor(box.maxY) - this.minY + 1;
+            int z1 = MathHelper.floor(box.maxZ) - this.minZ + 1;
+
+            if (x0 >= 0 && y0 >= 0 && z0 >= 0 && x1 <= this.sizeX && y1 <= this.sizeY && z1 <= this.sizeZ) {
+                return this.get(x1, y1, z1) - this.get(x0, y1, z1) - this.get(x1, y0, z1) - this.get(x1, y1, z0) + this.get(x0, y0, z1) + this.get(x0, y1, z0) + this.get(x1, y0, z0) - this.get(x0, y0, z0) == 0;
+            } else {
+                return false;
+            }
+        }
+
+        int get(int x, int y, int z) {
+            return this.counts[this.getIndex(x, y, z)];
+        }
+
+        int getIndex(int x, int y, int z) {
+            return (x * (this.sizeY + 1) + y) * (this.sizeZ + 1) + z;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package tech.mmmax.kami.api.utils.world;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class RegionSnapshot {
+
+    final RegionSnapshot.Section[] sections;
+    final int[] versions;
+    final int minX;
+    final int minZ;
+    final int size;
+    final int tick;
+
+    public RegionSnapshot(RegionSnapshot.Section[] sections, int[] versions, int minX, int minZ, int size, int tick) {
+        this.sections = sections;
+        this.versions = versions;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.size = size;
+        this.tick = tick;
+    }
+
+    public static int getIndex(int sectionX, int sectionY, int sectionZ, int minX, int minZ, int size) {
+        int localX = sectionX - minX;
+        int localZ = sectionZ - minZ;
+
+        return localX >= 0 && localZ >= 0 && sectionY >= 0 && localX < size && localZ < size && sectionY < 16 ? (localX * 16 + sectionY) * size + localZ : -1;
+    }
+
+    public RegionSnapshot.Section getSection(int x, int y, int z) {
+        int index = getIndex(x >> 4, y >> 4, z >> 4, this.minX, this.minZ, this.size);
+
+        return index == -1 ? null : this.sections[index];
+    }
+
+    public int getType(int x, int y, int z) {
+        RegionSnapshot.Section section = this.getSection(x, y, z);
+
+        return section == null ? Raycaster.EMPTY : section.getType(getCell(x, y, z));
+    }
+
+    public AxisAlignedBB getBox(int x, int y, int z) {
+        RegionSnapshot.Section section = this.getSection(x, y, z);
+
+        return section == null ? null : section.getBox(getCell(x, y, z));
+    }
+
+    public boolean isCovered(AxisAlignedBB region) {
+        int minSectionY = Math.max(0, MathHelper.floor(region.minY) >> 4);
+        int maxSectionY = Math.min(15, MathHelper.floor(region.maxY) >> 4);
+
+        for (int sectionX = MathHelper.floor(region.minX) >> 4; sectionX <= MathHelper.floor(region.maxX) >> 4; ++sectionX) {
+            for (int sectionZ = MathHelper.floor(region.minZ) >> 4; sectionZ <= MathHelper.floor(region.maxZ) >> 4; ++sectionZ) {
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; ++sectionY) {
+                    int index = getIndex(sectionX, sectionY, sectionZ, this.minX, this.minZ, this.size);
+
+                    if (index == -1 || this.sections[index] == null) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public int getSectionCount() {
+        int count = 0;
+
+        for (int i = 0; i < this.sections.length; ++i) {
+            if (this.sections[i] != null) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    public int getTick() {
+        return this.tick;
+    }
+
+    public int getVersion(int sectionX, int sectionY, int sectionZ) {
+        int index = getIndex(sectionX, sectionY, sectionZ, this.minX, this.minZ, this.size);
+
+        return index != -1 && this.sections[index] != null ? this.versions[index] : -1;
+    }
+
+    static int getCell(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+    }
+
+    public static class Section implements IMinecraft {
+
+        public static final RegionSnapshot.Section EMPTY = new RegionSnapshot.Section((long[]) null, (long[]) null, (short[]) null, (AxisAlignedBB[]) null);
+        final long[] full;
+        final long[] partial;
+        final short[] boxes;
+        final AxisAlignedBB[] palette;
+
+        Section(long[] full, long[] partial, short[] boxes, AxisAlignedBB[] palette) {
+            this.full = full;
+            this.partial = partial;
+            this.boxes = boxes;
+            this.palette = palette;
+        }
+
+        public static RegionSnapshot.Section build(Chunk chunk, int sectionY) {
+            ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+
+            if (storage != Chunk.NULL_BLOCK_STORAGE && !storage.isEmpty()) {
+                long[] full = new long[64];
+                long[] partial = new long[64];
+                short[] boxes = null;
+                ArrayList palette = new ArrayList();
+                HashMap paletteIndex = new HashMap();
+                BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+                for (int y = 0; y < 16; ++y) {
+                    for (int z = 0; z < 16; ++z) {
+                        for (int x = 0; x < 16; ++x) {
+                            IBlockState state = storage.get(x, y, z);
+                            int cell = y << 8 | z << 4 | x;
+                            int type = Raycaster.classify(state, pos.setPos((chunk.x << 4) + x, (sectionY << 4) + y, (chunk.z << 4) + z));
+
+                            if (type == Raycaster.FULL) {
+                                full[cell >> 6] |= 1L << cell;
+                            } else if (type == Raycaster.PARTIAL) {
+                                AxisAlignedBB box = state.getBoundingBox(RegionSnapshot.Section.mc.world, pos);
+                                Integer id = (Integer) paletteIndex.get(box);
+
+                                if (id == null) {
+                                    id = Integer.valueOf(palette.size());
+                                    paletteIndex.put(box, id);
+                                    palette.add(box);
+                                }
+
+                                if (boxes == null) {
+                                    boxes = new short[4096];
+                                }
+
+                                partial[cell >> 6] |= 1L << cell;
+                                boxes[cell] = (short) id.intValue();
+                            }
+                        }
+                    }
+                }
+
+                return new RegionSnapshot.Section(full, partial, boxes, (AxisAlignedBB[]) palette.toArray(new AxisAlignedBB[0]));
+            } else {
+                return RegionSnapshot.Section.EMPTY;
+            }
+        }
+
+        int getType(int cell) {
+            return this.full == null ? Raycaster.EMPTY : ((this.full[cell >> 6] & 1L << cell) != 0L ? Raycaster.FULL : ((this.partial[cell >> 6] & 1L << cell) != 0L ? Raycaster.PARTIAL : Raycaster.EMPTY));
+        }
+
+        AxisAlignedBB getBox(int cell) {
+            return this.boxes != null && (this.partial[cell >> 6] & 1L << cell) != 0L ? this.palette[this.boxes[cell]] : null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package tech.mmmax.kami.api.utils.world;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.Vec3d;
+import tech.mmmax.kami.api.management.DamageManager;
+import tech.mmmax.kami.api.management.SnapshotManager;
+import tech.mmmax.kami.api.wrapper.IMinecraft;
+
+public class WorldSnapshot implements IMinecraft {
+
+    final RegionSnapshot blocks;
+    final Map entities = new HashMap();
+    final float difficulty;
+
+    WorldSnapshot(RegionSnapshot blocks, float difficulty) {
+        this.blocks = blocks;
+        this.difficulty = difficulty;
+    }
+
+    public static WorldSnapshot capture(AxisAlignedBB region, Entity[] entities) {
+        RegionSnapshot blocks = SnapshotManager.INSTANCE == null ? null : SnapshotManager.INSTANCE.getSnapshot();
+
+        if (blocks != null && blocks.isCovered(region)) {
+            WorldSnapshot snapshot = new WorldSnapshot(blocks, DamageManager.getDifficultyFactor());
+
+            for (int i = 0; i < entities.length; ++i) {
+                if (entities[i] != null) {
+                    snapshot.entities.put(Integer.valueOf(entities[i].getEntityId()), new WorldSnapshot.EntityState(entities[i]));
+                }
+            }
+
+            return snapshot;
+        } else {
+            return null;
+        }
+    }
+
+    public WorldSnapshot.EntityState getEntity(Entity entity) {
+        return (WorldSnapshot.EntityState) this.entities.get(Integer.valueOf(entity.getEntityId()));
+    }
+
+    public float getDifficulty() {
+        return this.difficulty;
+    }
+
+    public int getVersion(int sectionX, int sectionY, int sectionZ) {
+        return this.blocks.getVersion(sectionX, sectionY, sectionZ);
+    }
+
+    public RegionSnapshot getBlocks() {
+        return this.blocks;
+    }
+
+    int getType(int x, int y, int z) {
+        return this.blocks.getType(x, y, z);
+    }
+
+    boolean isPartialHit(int x, int y, int z, double startX, double startY, double startZ, double endX, double endY, double endZ) {
+        AxisAlignedBB box = this.blocks.getBox(x, y, z);
+
+        return box != null && box.calculateIntercept(new Vec3d(startX - (double) x, startY - (double) y, startZ - (double) z), new Vec3d(endX - (double) x, endY - (double) y, endZ - (double) z)) != null;
+    }
+
+    public static class EntityState {
+
+        public final int id;
+        public final double posX;
+        public final double posY;
+        public final double posZ;
+        public final double motionX;
+        public final double motionY;
+        public final double motionZ;
+        public final AxisAlignedBB boundingBox;
+        public final DamageManager.ArmorProfile profile;
+        public final float health;
+
+        EntityState(Entity entity) {
+            this.id = entity.getEntityId();
+            this.posX = entity.posX;
+            this.posY = entity.posY;
+            this.posZ = entity.posZ;
+            this.motionX = entity.motionX;
+            this.motionY = entity.motionY;
+            this.motionZ = entity.motionZ;
+            this.boundingBox = entity.getEntityBoundingBox();
+            this.profile = entity instanceof EntityLivingBase ? DamageManager.INSTANCE.getProfile((EntityLivingBase) entity) : null;
+            this.health = entity instanceof EntityLivingBase ? ((EntityLivingBase) entity).getHealth() + ((EntityLivingBase) entity).getAbsorptionAmount() : 0.0F;
+        }
+    }
+}
@@ -2,16 +2,31 @@ package tech.mmmax.kami.impl;
 
 import tech.mmmax.kami.api.management.BindManager;
 import tech.mmmax.kami.api.management.CommandManager;
+import tech.mmmax.kami.api.management.CrystalManager;
+import tech.mmmax.kami.api.management.DamageManager;
+import tech.mmmax.kami.api.management.EntityManager;
 import tech.mmmax.kami.api.management.FeatureManager;
 import tech.mmmax.kami.api.management.FriendManager;
+import tech.mmmax.kami.api.management.HoleManager;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.management.PacketManager;
 import tech.mmmax.kami.api.management.SavableManager;
+import tech.mmmax.kami.api.management.SnapshotManager;
+import tech.mmmax.kami.api.management.TickManager;
 import tech.mmmax.kami.api.utils.color.RainbowUtil;
 import tech.mmmax.kami.api.utils.player.RotationUtil;
+import tech.mmmax.kami.impl.features.commands.Bench;
 import tech.mmmax.kami.impl.features.commands.Bind;
+import tech.mmmax.kami.impl.features.commands.Cache;
+import tech.mmmax.kami.impl.features.commands.Events;
 import tech.mmmax.kami.impl.features.commands.Friend;
 import tech.mmmax.kami.impl.features.commands.Help;
+import tech.mmmax.kami.impl.features.commands.Net;
+import tech.mmmax.kami.impl.features.commands.Record;
+import tech.mmmax.kami.impl.features.commands.Replay;
 import tech.mmmax.kami.impl.features.hud.FeatureList;
 import tech.mmmax.kami.impl.features.hud.Info;
+import tech.mmmax.kami.impl.features.hud.NetStats;
 import tech.mmmax.kami.impl.features.hud.Watermark;
 import tech.mmmax.kami.impl.features.hud.Welcomer;
 import tech.mmmax.kami.impl.features.modules.client.ClickGuiModule;
@@ -81,6 +96,14 @@ public class Register {
         FriendManager.INSTANCE = new FriendManager();
         RotationUtil.INSTANCE = new RotationUtil();
         CommandManager.INSTANCE = new CommandManager();
+        HoleManager.INSTANCE = new HoleManager();
+        CrystalManager.INSTANCE = new CrystalManager();
+        SnapshotManager.INSTANCE = new SnapshotManager();
+        EntityManager.INSTANCE = new EntityManager();
+        DamageManager.INSTANCE = new DamageManager();
+        PacketManager.INSTANCE = new PacketManager();
+        LatencyManager.INSTANCE = new LatencyManager();
+        TickManager.INSTANCE = new TickManager();
     }
 
     public void registerFeatures() {
@@ -135,9 +158,16 @@ public class Register {
         FeatureManager.INSTANCE.getFeatures().add(new FeatureList());
         FeatureManager.INSTANCE.getFeatures().add(new Welcomer());
         FeatureManager.INSTANCE.getFeatures().add(new Info());
+        FeatureManager.INSTANCE.getFeatures().add(new NetStats());
         CommandManager.INSTANCE.getCommands().add(new Help());
         CommandManager.INSTANCE.getCommands().add(new Bind());
         CommandManager.INSTANCE.getCommands().add(new Friend());
+        CommandManager.INSTANCE.getCommands().add(new Cache());
+        CommandManager.INSTANCE.getCommands().add(new Events());
+        CommandManager.INSTANCE.getCommands().add(new Net());
+        CommandManager.INSTANCE.getCommands().add(new Record());
+        CommandManager.INSTANCE.getCommands().add(new Replay());
+        CommandManager.INSTANCE.getCommands().add(new Bench());
     }
 
     public void registerGui() {
@@ -0,0 +1,94 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import java.util.List;
+import net.minecraft.entity.EntityLivingBase;
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.management.DamageManager;
+import tech.mmmax.kami.api.utils.NullUtils;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.player.TargetUtils;
+import tech.mmmax.kami.api.utils.world.CrystalUtil;
+
+public class Bench extends Command {
+
+    public static final int[] WORKERS = new int[] { 0, 1, 2, 4, 8};
+    public static final int WARMUP = 3;
+    public static final double[] VERIFY_RANGES = new double[] { 5.0D, 13.0D};
+
+    public Bench() {
+        super("Bench", "Times crystal placement search on the nearest target for 1/2/4/8 workers, usage: bench [iterations, verify]", new String[] { "bench"});
+    }
+
+    public void run(String[] args) {
+        EntityLivingBase target = NullUtils.nullCheck() ? null : TargetUtils.getTarget(12.0D);
+
+        if (target == null) {
+            ChatUtils.sendMessage(new ChatMessage("No target in range", false, 0));
+        } else if (args.length > 1 && args[1].equalsIgnoreCase("verify")) {
+            List targets = TargetUtils.getTargets(12.0D);
+            CrystalUtil.Objective[] objectives = CrystalUtil.Objective.values();
+
+            for (int i = 0; i < Bench.VERIFY_RANGES.length; ++i) {
+                for (int j = 0; j < 2; ++j) {
+                    boolean antiSuicide = j == 1;
+                    String label = "range " + Bench.VERIFY_RANGES[i] + (antiSuicide ? ", anti suicide" : "");
+
+                    this.report("Single " + label, CrystalUtil.verify(target, Bench.VERIFY_RANGES[i], 3.0D, false, 0.2D, antiSuicide, 4.0D, 4.0D, 15.0D, false, false, 2, 0.3D));
+
+                    for (int k = 0; k < objectives.length; ++k) {
+                        this.report(objectives[k] + " (" + targets.size() + " targets) " + label, CrystalUtil.verify(targets, objectives[k], Bench.VERIFY_RANGES[i], 3.0D, false, 0.2D, antiSuicide, 4.0D, 4.0D, 15.0D, false, false, 2, 0.3D));
+                    }
+                }
+            }
+        } else {
+            int iterations = 20;
+
+            try {
+                iterations = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 20;
+            } catch (NumberFormatException numberformatexception) {
+                ;
+            }
+
+            CrystalUtil.Crystal reference = null;
+            double serial = 0.0D;
+
+            for (int i = 0; i < Bench.WORKERS.length; ++i) {
+                CrystalUtil.Crystal crystal = null;
+                long total = 0L;
+
+                for (int j = 0; j < Bench.WARMUP + iterations; ++j) {
+                    DamageManager.INSTANCE.clearExposures();
+                    long start = System.nanoTime();
+
+                    crystal = CrystalUtil.getPlacePos(target, 5.0D, 3.0D, false, 0.2D, false, 4.0D, 4.0D, 15.0D, false, false, 2, 0.3D, Bench.WORKERS[i]);
+                    if (j >= Bench.WARMUP) {
+                        total += System.nanoTime() - start;
+                    }
+                }
+
+                double average = (double) total / (double) iterations / 1000000.0D;
+
+                if (i == 0) {
+                    reference = crystal;
+                    serial = average;
+                }
+
+                boolean same = reference == null ? crystal == null : reference.equals(crystal);
+
+                ChatUtils.sendMessage(new ChatMessage((Bench.WORKERS[i] == 0 ? "Serial" : Bench.WORKERS[i] + " workers") + ": " + String.format("%.3f", new Object[] { Double.valueOf(average)}) + "ms" + (i == 0 ? "" : ", " + String.format("%.2f", new Object[] { Double.valueOf(average > 0.0D ? serial / average : 0.0D)}) + "x") + (same ? "" : ", result differs"), false, 0));
+            }
+        }
+
+    }
+
+    void report(String label, CrystalUtil.Crystal[] results) {
+        boolean same = results[0] == null ? results[1] == null : results[1] != null && results[0].crystalPos.equals(results[1].crystalPos) && results[0].getEnemyDamage() == results[1].getEnemyDamage() && results[0].getSelfDamage() == results[1].getSelfDamage();
+
+        ChatUtils.sendMessage(new ChatMessage(label + ": " + (same ? "match, " + this.describe(results[0]) : "mismatch, pruned " + this.describe(results[0]) + ", exhaustive " + this.describe(results[1])), false, 0));
+    }
+
+    String describe(CrystalUtil.Crystal crystal) {
+        return crystal == null ? "none" : crystal.crystalPos.getX() + " " + crystal.crystalPos.getY() + " " + crystal.crystalPos.getZ() + " (" + String.format("%.1f", new Object[] { Float.valueOf(crystal.getEnemyDamage())}) + " enemy, " + String.format("%.1f", new Object[] { Float.valueOf(crystal.getSelfDamage())}) + " self)";
+    }
+}
@@ -0,0 +1,25 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.management.SnapshotManager;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.world.BlockCache;
+
+public class Cache extends Command {
+
+    public Cache() {
+        super("Cache", "Shows block cache hits and misses", new String[] { "cache"});
+    }
+
+    public void run(String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            BlockCache.resetCounters();
+            ChatUtils.sendMessage(new ChatMessage("Reset block cache counters", false, 0));
+        } else {
+            ChatUtils.sendMessage(new ChatMessage("Block cache hits: " + BlockCache.getHits() + ", misses: " + BlockCache.getMisses() + ", hit rate: " + String.format("%.1f", new Object[] { Double.valueOf(BlockCache.getHitRate() * 100.0D)}) + "%", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Block snapshot sections: " + SnapshotManager.INSTANCE.getSectionCount() + ", built: " + SnapshotManager.INSTANCE.getBuilt() + ", shared: " + SnapshotManager.INSTANCE.getShared(), false, 0));
+        }
+
+    }
+}
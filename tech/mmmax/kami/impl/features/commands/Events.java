@@ -0,0 +1,29 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.event.Delivery;
+import tech.mmmax.kami.api.event.DeliveryQueue;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+
+public class Events extends Command {
+
+    public Events() {
+        super("Events", "Shows how long off-thread events wait between dispatch and each listener starting, usage: events [reset]", new String[] { "events"});
+    }
+
+    public void run(String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            DeliveryQueue.INSTANCE.resetStats();
+            ChatUtils.sendMessage(new ChatMessage("Reset event delivery stats", false, 0));
+        } else {
+            DeliveryQueue.Stats inline = DeliveryQueue.INSTANCE.getStats(Delivery.Inline);
+            DeliveryQueue.Stats clientTick = DeliveryQueue.INSTANCE.getStats(Delivery.ClientTick);
+
+            ChatUtils.sendMessage(new ChatMessage("Inline: " + inline.getCount() + " delivered, wait from dispatch avg " + String.format("%.3f", new Object[] { Double.valueOf(inline.getAverageMillis())}) + "ms, max " + String.format("%.3f", new Object[] { Double.valueOf(inline.getMaxMillis())}) + "ms", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Client tick: " + clientTick.getCount() + " delivered, wait from dispatch avg " + String.format("%.3f", new Object[] { Double.valueOf(clientTick.getAverageMillis())}) + "ms, max " + String.format("%.3f", new Object[] { Double.valueOf(clientTick.getMaxMillis())}) + "ms", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Queue depth: " + DeliveryQueue.INSTANCE.getDepth() + ", max " + DeliveryQueue.INSTANCE.getMaxDepth() + ", last batch " + DeliveryQueue.INSTANCE.getLastBatch(), false, 0));
+        }
+
+    }
+}
@@ -0,0 +1,106 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import java.util.Comparator;
+import java.util.List;
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.event.DeliveryQueue;
+import tech.mmmax.kami.api.event.EventChannel;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PostPacketEvent;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.management.PacketManager;
+import tech.mmmax.kami.api.management.TickManager;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.network.InboundFilter;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+import tech.mmmax.kami.api.utils.network.PacketTemplate;
+import tech.mmmax.kami.api.utils.player.RotationUtil;
+
+public class Net extends Command {
+
+    public Net() {
+        super("Net", "Shows packet pipeline stats, usage: net [top in|out, listeners, verify, reset]", new String[] { "net"});
+    }
+
+    public void run(String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            PacketManager.INSTANCE.resetCounters();
+            PacketTemplate.resetWritten();
+            InboundFilter.resetDropped();
+            PacketMetrics.reset();
+            LatencyManager.INSTANCE.reset();
+            RotationUtil.INSTANCE.resetCounters();
+            this.resetListeners(PacketEvent.CHANNEL);
+            this.resetListeners(PostPacketEvent.CHANNEL);
+            ChatUtils.sendMessage(new ChatMessage("Reset packet pipeline counters", false, 0));
+        } else if (args.length > 1 && args[1].equalsIgnoreCase("top")) {
+            PacketEvent.Time time = args.length > 2 && args[2].equalsIgnoreCase("out") ? PacketEvent.Time.Send : PacketEvent.Time.Receive;
+            List stats = PacketMetrics.getStats(time);
+
+            stats.sort(Comparator.comparingLong((s) -> {
+                return -((PacketMetrics.Stats) s).getCount(10);
+            }));
+
+            for (int i = 0; i < Math.min(10, stats.size()); ++i) {
+                PacketMetrics.Stats stat = (PacketMetrics.Stats) stats.get(i);
+
+                ChatUtils.sendMessage(new ChatMessage(stat.getType().getSimpleName() + ": " + stat.getCount(1) + "/" + stat.getCount(10) + "/" + stat.getCount(60) + " packets, " + stat.getBytes(10) / 10L + " B/s, " + stat.getCount() + " total", false, 0));
+            }
+        } else if (args.length > 1 && args[1].equalsIgnoreCase("verify")) {
+            PacketTemplate.setVerifying(!PacketTemplate.isVerifying());
+            ChatUtils.sendMessage(new ChatMessage("Template verification " + (PacketTemplate.isVerifying() ? "on" : "off"), false, 0));
+        } else if (args.length > 1 && args[1].equalsIgnoreCase("listeners")) {
+            this.showListeners(PacketEvent.CHANNEL);
+            this.showListeners(PostPacketEvent.CHANNEL);
+        } else {
+            PacketMetrics.Histogram handlers = PacketMetrics.getHandlers();
+
+            ChatUtils.sendMessage(new ChatMessage("In: " + PacketMetrics.getCount(PacketEvent.Time.Receive, 1) + "/" + PacketMetrics.getCount(PacketEvent.Time.Receive, 10) + "/" + PacketMetrics.getCount(PacketEvent.Time.Receive, 60) + " packets (1s/10s/60s), " + PacketMetrics.getBytes(PacketEvent.Time.Receive, 10) / 10L + " B/s", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Out: " + PacketMetrics.getCount(PacketEvent.Time.Send, 1) + "/" + PacketMetrics.getCount(PacketEvent.Time.Send, 10) + "/" + PacketMetrics.getCount(PacketEvent.Time.Send, 60) + " packets (1s/10s/60s), " + PacketMetrics.getBytes(PacketEvent.Time.Send, 10) / 10L + " B/s", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Handlers: " + handlers.getCount() + " posts, avg " + String.format("%.3f", new Object[] { Double.valueOf(handlers.getAverageMillis())}) + "ms, p50 " + String.format("%.3f", new Object[] { Double.valueOf(handlers.getPercentileMillis(0.5D))}) + "ms, p99 " + String.format("%.3f", new Object[] { Double.valueOf(handlers.getPercentileMillis(0.99D))}) + "ms", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Coalescing: " + (PacketManager.INSTANCE.isCoalescing() ? "on" : "off") + ", removed " + PacketManager.INSTANCE.getCoalesced() + " packets, " + PacketManager.INSTANCE.getLastCoalesced() + " last tick", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Batching: " + (PacketManager.INSTANCE.isBatching() ? "on" : "off") + ", wrote " + PacketManager.INSTANCE.getWritten() + " packets in " + PacketManager.INSTANCE.getFlushes() + " flushes, " + PacketManager.INSTANCE.getDeferred() + " deferred", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Rate limit: " + (PacketManager.INSTANCE.isLimiting() ? "on" : "off") + ", budget " + (PacketManager.INSTANCE.isLimiting() ? String.valueOf(PacketManager.INSTANCE.getBudget(PacketManager.Priority.Critical)) : "unlimited") + ", " + PacketManager.INSTANCE.getDeferredCount() + " queued, " + PacketManager.INSTANCE.getLimitDeferred() + " deferred, " + PacketManager.INSTANCE.getLimitDropped() + " dropped", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Server: " + String.format("%.2f", new Object[] { Double.valueOf(TickManager.INSTANCE.getTps())}) + " TPS, movement cadence " + String.format("%.2f", new Object[] { Double.valueOf(TickManager.INSTANCE.getCadenceTps())}) + " TPS, tick " + String.format("%.1f", new Object[] { Double.valueOf(TickManager.INSTANCE.getTicks())}), false, 0));
+            ChatUtils.sendMessage(new ChatMessage("RTT: place " + this.getLatency(LatencyManager.Action.Place) + ", attack " + this.getLatency(LatencyManager.Action.Attack) + ", block " + this.getLatency(LatencyManager.Action.Block), false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Rotations: " + RotationUtil.INSTANCE.getRewritten() + " rewritten, " + RotationUtil.INSTANCE.getUpgraded() + " upgraded, " + RotationUtil.INSTANCE.getDowngraded() + " downgraded, " + RotationUtil.INSTANCE.getElided() + " elided", false, 0));
+            ChatUtils.sendMessage(new ChatMessage("Templates: wrote " + PacketTemplate.getWritten() + " pre-encoded packets" + (PacketTemplate.isVerifying() ? ", " + PacketTemplate.getMismatches() + " mismatched encode()" : ""), false, 0));
+
+            for (int i = 0; i < InboundFilter.MAX_IDS; ++i) {
+                if (InboundFilter.isDropped(i) || InboundFilter.getDropped(i) > 0L) {
+                    ChatUtils.sendMessage(new ChatMessage("Dropped 0x" + Integer.toHexString(i) + (InboundFilter.getType(i) != null ? " (" + InboundFilter.getType(i).getSimpleName() + ")" : "") + ": " + InboundFilter.getDropped(i) + (InboundFilter.isDropped(i) ? "" : ", inactive"), false, 0));
+                }
+            }
+        }
+
+    }
+
+    String getLatency(LatencyManager.Action action) {
+        return LatencyManager.INSTANCE.getSampleCount(action) == 0 ? "n/a" : LatencyManager.INSTANCE.getPercentile(action, 0.5D) + "/" + LatencyManager.INSTANCE.getPercentile(action, 0.9D) + "ms (" + LatencyManager.INSTANCE.getSampleCount(action) + ")";
+    }
+
+    void showListeners(EventChannel channel) {
+        EventChannel.Listener[] listeners = channel.getListeners();
+
+        for (int i = 0; i < listeners.length; ++i) {
+            DeliveryQueue.Stats stats = listeners[i].getStats();
+
+            if (stats != null && stats.getCount() > 0L) {
+                ChatUtils.sendMessage(new ChatMessage(listeners[i].getName() + ": " + stats.getCount() + " calls, avg " + String.format("%.3f", new Object[] { Double.valueOf(stats.getAverageMillis())}) + "ms, max " + String.format("%.3f", new Object[] { Double.valueOf(stats.getMaxMillis())}) + "ms", false, 0));
+            }
+        }
+
+    }
+
+    void resetListeners(EventChannel channel) {
+        EventChannel.Listener[] listeners = channel.getListeners();
+
+        for (int i = 0; i < listeners.length; ++i) {
+            if (listeners[i].getStats() != null) {
+                listeners[i].getStats().reset();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,31 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.network.PacketRecorder;
+
+public class Record extends Command {
+
+    public Record() {
+        super("Record", "Records inbound packets for replay, usage: record [start <name>, stop]", new String[] { "record"});
+    }
+
+    public void run(String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("start")) {
+            String name = args.length > 2 ? args[2] : "recording";
+
+            if (PacketRecorder.start(name)) {
+                ChatUtils.sendMessage(new ChatMessage("Recording inbound packets to " + name + "/" + PacketRecorder.getFolder().getName(), false, 0));
+            } else {
+                ChatUtils.sendMessage(new ChatMessage("Could not start recording " + name, false, 0));
+            }
+        } else if (args.length > 1 && args[1].equalsIgnoreCase("stop")) {
+            PacketRecorder.stop();
+            ChatUtils.sendMessage(new ChatMessage("Stopped recording, " + PacketRecorder.getFrames() + " packets, " + PacketRecorder.getBytes() / 1024L + " KB in " + PacketRecorder.getSegmentCount() + " segments", false, 0));
+        } else {
+            ChatUtils.sendMessage(new ChatMessage("Recording: " + (PacketRecorder.isRecording() ? "on" : "off") + ", " + PacketRecorder.getFrames() + " packets, " + PacketRecorder.getBytes() / 1024L + " KB in " + PacketRecorder.getSegmentCount() + " segments", false, 0));
+        }
+
+    }
+}
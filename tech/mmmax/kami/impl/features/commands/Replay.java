@@ -0,0 +1,64 @@
+package tech.mmmax.kami.impl.features.commands;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import tech.mmmax.kami.api.command.Command;
+import tech.mmmax.kami.api.utils.chat.ChatMessage;
+import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.network.PacketReplay;
+
+public class Replay extends Command {
+
+    public Replay() {
+        super("Replay", "Replays a recording through the packet events, usage: replay [<name> [fast] [loops], stop, report], starts once disconnected", new String[] { "replay"});
+    }
+
+    public void run(String[] args) {
+        if (args.length > 1 && args[1].equalsIgnoreCase("stop")) {
+            PacketReplay.stop();
+            ChatUtils.sendMessage(new ChatMessage("Stopped replay", false, 0));
+        } else if (args.length > 1 && !args[1].equalsIgnoreCase("report")) {
+            boolean fast = args.length > 2 && args[2].equalsIgnoreCase("fast");
+            int loops = 1;
+
+            try {
+                loops = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            } catch (NumberFormatException numberformatexception) {
+                ;
+            }
+
+            if (PacketReplay.isConnected()) {
+                if (PacketReplay.schedule(args[1], fast, Math.max(0, loops))) {
+                    ChatUtils.sendMessage(new ChatMessage("Replay of " + args[1] + " will start once you disconnect", false, 0));
+                } else {
+                    ChatUtils.sendMessage(new ChatMessage("Could not replay " + args[1], false, 0));
+                }
+            } else if (PacketReplay.start(args[1], fast, Math.max(0, loops))) {
+                ChatUtils.sendMessage(new ChatMessage("Replaying " + args[1] + (fast ? " as fast as possible" : " at recorded speed") + (loops == 0 ? " until stopped" : ", " + loops + " loops"), false, 0));
+            } else {
+                ChatUtils.sendMessage(new ChatMessage("Could not replay " + args[1], false, 0));
+            }
+        } else {
+            List profiles = PacketReplay.getProfiles();
+
+            profiles.sort(Comparator.comparingLong((profile) -> {
+                return -((PacketReplay.Profile) profile).getCpuNanos();
+            }));
+            ChatUtils.sendMessage(new ChatMessage("Replay: " + (PacketReplay.isRunning() ? "running" : (PacketReplay.getPending() != null ? "waiting for disconnect" : "idle")) + ", loop " + PacketReplay.getLoop() + ", " + PacketReplay.getReplayed() + " packets, " + PacketReplay.getFailed() + " failed, " + PacketReplay.getSwallowed() + " outbound swallowed", false, 0));
+
+            for (int i = 0; i < Math.min(10, profiles.size()); ++i) {
+                PacketReplay.Profile profile = (PacketReplay.Profile) profiles.get(i);
+
+                ChatUtils.sendMessage(new ChatMessage(profile.getOwner().getSimpleName() + ": " + profile.getCalls() + " calls, " + String.format("%.3f", new Object[] { Double.valueOf((double) profile.getCpuNanos() / 1000000.0D)}) + "ms cpu, " + profile.getAllocatedBytes() / 1024L + " KB allocated", false, 0));
+            }
+
+            Iterator iterator = PacketReplay.getGrowing().iterator();
+
+            while (iterator.hasNext()) {
+                ChatUtils.sendMessage(new ChatMessage("Growing: " + iterator.next() + " grew for " + PacketReplay.GROWTH_LOOPS + "+ loops", false, 0));
+            }
+        }
+
+    }
+}
@@ -0,0 +1,51 @@
+package tech.mmmax.kami.impl.features.hud;
+
+import com.mojang.realmsclient.gui.ChatFormatting;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraftforge.client.event.RenderGameOverlayEvent.Text;
+import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.feature.hud.HudComponent;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+import tech.mmmax.kami.api.value.Value;
+import tech.mmmax.kami.api.value.builder.ValueBuilder;
+import tech.mmmax.kami.impl.features.modules.client.HudColors;
+import tech.mmmax.kami.impl.gui.ClickGui;
+
+public class NetStats extends HudComponent {
+
+    Value window = (new ValueBuilder()).withDescriptor("Window").withValue("10s").withModes(new String[] { "1s", "10s", "60s"}).register(this);
+    Value latency = (new ValueBuilder()).withDescriptor("Latency").withValue(Boolean.valueOf(true)).register(this);
+
+    public NetStats() {
+        super("NetStats");
+    }
+
+    public void draw(Text event) {
+        super.draw(event);
+        if (PacketMetrics.isEnabled()) {
+            int seconds = Integer.parseInt(((String) this.window.getValue()).replace("s", ""));
+            ArrayList lines = new ArrayList();
+
+            lines.add("IN " + ChatFormatting.WHITE + PacketMetrics.getCount(PacketEvent.Time.Receive, seconds) / (long) seconds + "/s " + PacketMetrics.getBytes(PacketEvent.Time.Receive, seconds) / (long) seconds / 1024L + "KB/s");
+            lines.add("OUT " + ChatFormatting.WHITE + PacketMetrics.getCount(PacketEvent.Time.Send, seconds) / (long) seconds + "/s " + PacketMetrics.getBytes(PacketEvent.Time.Send, seconds) / (long) seconds / 1024L + "KB/s");
+            if (((Boolean) this.latency.getValue()).booleanValue()) {
+                lines.add("HANDLERS " + ChatFormatting.WHITE + "p50 " + String.format("%.2f", new Object[] { Double.valueOf(PacketMetrics.getHandlers().getPercentileMillis(0.5D))}) + "ms p99 " + String.format("%.2f", new Object[] { Double.valueOf(PacketMetrics.getHandlers().getPercentileMillis(0.99D))}) + "ms");
+            }
+
+            this.renderLines(lines);
+        }
+    }
+
+    void renderLines(List lines) {
+        int off = 0;
+
+        for (int i = 0; i < lines.size(); ++i) {
+            String line = (String) lines.get(i);
+
+            ClickGui.CONTEXT.getRenderer().renderText(line, ((Number) this.xPos.getValue()).floatValue(), (float) (((Number) this.yPos.getValue()).intValue() + off), HudColors.getTextColor(((Number) this.yPos.getValue()).intValue() + off), ClickGui.CONTEXT.getColorScheme().doesTextShadow());
+            off += ClickGui.CONTEXT.getRenderer().getTextHeight(line);
+        }
+
+    }
+}
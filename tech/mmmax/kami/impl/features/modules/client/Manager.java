@@ -5,6 +5,8 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.PacketManager;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
 import tech.mmmax.kami.impl.KamiMod;
@@ -12,10 +14,22 @@ import tech.mmmax.kami.impl.KamiMod;
 public class Manager extends Module {
 
     Value clientName;
+    Value coalescePackets;
+    Value batchWrites;
+    Value packetMetrics;
+    Value rateLimit;
+    Value packetRate;
+    Value packetBurst;
 
     public Manager() {
         super("Manager", Feature.Category.Client);
         this.clientName = (new ValueBuilder()).withDescriptor("Client Name").withValue(KamiMod.NAME).register(this);
+        this.coalescePackets = (new ValueBuilder()).withDescriptor("Coalesce Packets").withValue(Boolean.valueOf(false)).register(this);
+        this.batchWrites = (new ValueBuilder()).withDescriptor("Batch Writes").withValue(Boolean.valueOf(false)).register(this);
+        this.packetMetrics = (new ValueBuilder()).withDescriptor("Packet Metrics").withValue(Boolean.valueOf(true)).register(this);
+        this.rateLimit = (new ValueBuilder()).withDescriptor("Rate Limit").withValue(Boolean.valueOf(false)).register(this);
+        this.packetRate = (new ValueBuilder()).withDescriptor("Packet Rate").withValue(Integer.valueOf(80)).withRange(Integer.valueOf(20), Integer.valueOf(400)).register(this);
+        this.packetBurst = (new ValueBuilder()).withDescriptor("Packet Burst").withValue(Integer.valueOf(40)).withRange(Integer.valueOf(5), Integer.valueOf(200)).register(this);
         this.setEnabled(true);
         MinecraftForge.EVENT_BUS.register(this);
     }
@@ -28,5 +42,9 @@ public class Manager extends Module {
     public void onUpdate(ClientTickEvent event) {
         KamiMod.NAME = (String) this.clientName.getValue();
         KamiMod.updateName();
+        PacketManager.INSTANCE.setCoalescing(((Boolean) this.coalescePackets.getValue()).booleanValue());
+        PacketManager.INSTANCE.setBatching(((Boolean) this.batchWrites.getValue()).booleanValue());
+        PacketManager.INSTANCE.setLimiting(((Boolean) this.rateLimit.getValue()).booleanValue(), ((Number) this.packetRate.getValue()).intValue(), ((Number) this.packetBurst.getValue()).intValue());
+        PacketMetrics.setEnabled(((Boolean) this.packetMetrics.getValue()).booleanValue());
     }
 }
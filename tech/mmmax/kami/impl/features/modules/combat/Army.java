@@ -4,8 +4,9 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import net.minecraft.client.network.NetHandlerPlayClient;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -19,7 +20,10 @@ public class Army extends Module {
         super("Army", Feature.Category.Combat);
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        time = { PacketEvent.Time.Send}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getTime() == PacketEvent.Time.Send && !this.ignore) {
@@ -14,6 +14,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.LatencyManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.Timer;
 import tech.mmmax.kami.api.utils.player.InventoryUtils;
@@ -28,6 +29,8 @@ public class AutoTrap extends Module {
     Value delay = (new ValueBuilder()).withDescriptor("Delay").withValue(Integer.valueOf(0)).withRange(Integer.valueOf(0), Integer.valueOf(1000)).withAction((set) -> {
         this.timer.setDelay((long) ((Number) set.getValue()).intValue());
     }).register(this);
+    Value autoDelay = (new ValueBuilder()).withDescriptor("Auto Delay").withValue("Off").withModes(new String[] { "Off", "P50", "P90"}).register(this);
+    Value serverTicks = (new ValueBuilder()).withDescriptor("Server Ticks").withValue(Boolean.valueOf(false)).register(this);
     Value trapMode = (new ValueBuilder()).withDescriptor("Mode").withValue("Top").withModes(new String[] { "Full", "City", "Top", "None"}).register(this);
     Value blocksPerTick = (new ValueBuilder()).withDescriptor("BPT").withValue(Integer.valueOf(10)).withRange(Integer.valueOf(0), Integer.valueOf(10)).register(this);
     Value targetRange = (new ValueBuilder()).withDescriptor("Target Range").withValue(Double.valueOf(5.0D)).withRange(Double.valueOf(1.0D), Double.valueOf(10.0D)).register(this);
@@ -50,6 +53,8 @@ public class AutoTrap extends Module {
     @SubscribeEvent
     public void onUpdate(ClientTickEvent event) {
         if (!NullUtils.nullCheck()) {
+            this.timer.setDelay(LatencyManager.INSTANCE.getDelay(LatencyManager.Action.Block, (String) this.autoDelay.getValue(), ((Number) this.delay.getValue()).longValue()));
+            this.timer.setServerTicks(((Boolean) this.serverTicks.getValue()).booleanValue());
             if (this.timer.isPassed()) {
                 this.target = TargetUtils.getTarget(((Number) this.targetRange.getValue()).doubleValue());
                 if (this.target == null) {
@@ -15,6 +15,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -135,7 +137,10 @@ public class Burrow extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayer.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof CPacketPlayer) {
@@ -2,9 +2,13 @@ package tech.mmmax.kami.impl.features.modules.combat;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -29,9 +33,14 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import org.lwjgl.opengl.GL11;
+import tech.mmmax.kami.api.event.Delivery;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.LatencyManager;
+import tech.mmmax.kami.api.management.PacketManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.Timer;
 import tech.mmmax.kami.api.utils.color.ColorUtil;
@@ -57,6 +66,7 @@ public class CrystalAura extends Module {
     Value antiSuicideFactor = (new ValueBuilder()).withDescriptor("Anti Suicide Factor").withValue(Integer.valueOf(4)).withRange(Integer.valueOf(0), Integer.valueOf(10)).register(this);
     Value minDamage = (new ValueBuilder()).withDescriptor("Min Damage").withValue(Double.valueOf(4.0D)).withRange(Double.valueOf(0.0D), Double.valueOf(20.0D)).register(this);
     Value maxSelfDamage = (new ValueBuilder()).withDescriptor("Max Self Damage").withValue(Double.valueOf(15.0D)).withRange(Double.valueOf(0.0D), Integer.valueOf(36)).register(this);
+    Value targetMode = (new ValueBuilder()).withDescriptor("Target Mode").withValue("Single").withModes(new String[] { "Single", "Max", "Sum", "Lethal"}).register(this);
     Value targetRange = (new ValueBuilder()).withDescriptor("Target Range").withValue(Double.valueOf(7.0D)).withRange(Double.valueOf(3.0D), Double.valueOf(20.0D)).register(this);
     Value range = (new ValueBuilder()).withDescriptor("Range").withValue(Integer.valueOf(5)).withRange(Integer.valueOf(1), Integer.valueOf(10)).register(this);
     Value wallsRange = (new ValueBuilder()).withDescriptor("Walls Range").withValue(Integer.valueOf(3)).withRange(Integer.valueOf(1), Integer.valueOf(5)).register(this);
@@ -68,6 +78,9 @@ public class CrystalAura extends Module {
     Value placeDelay = (new ValueBuilder()).withDescriptor("Place Delay").withValue(Integer.valueOf(1)).withRange(Integer.valueOf(0), Integer.valueOf(1000)).withAction((setting) -> {
         this.placeTimer.setDelay(((Number) setting.getValue()).longValue());
     }).register(this);
+    Value autoDelay = (new ValueBuilder()).withDescriptor("Auto Delay").withValue("Off").withModes(new String[] { "Off", "P50", "P90"}).register(this);
+    Value serverTicks = (new ValueBuilder()).withDescriptor("Server Ticks").withValue(Boolean.valueOf(false)).register(this);
+    Value threads = (new ValueBuilder()).withDescriptor("Threads").withValue(Integer.valueOf(0)).withRange(Integer.valueOf(0), Integer.valueOf(8)).register(this);
     Value inhibit = (new ValueBuilder()).withDescriptor("Inhibit").withValue(Boolean.valueOf(true)).register(this);
     Value fastBreak = (new ValueBuilder()).withDescriptor("Fast Break").withValue(Boolean.valueOf(true)).register(this);
     Value noStuckChain = (new ValueBuilder()).withDescriptor("No Stuck Chain").withValue(Integer.valueOf(3)).withRange(Integer.valueOf(0), Integer.valueOf(10)).register(this);
@@ -113,6 +126,8 @@ public class CrystalAura extends Module {
     boolean shouldPredict;
     int currStuck;
     long lastBroke;
+    volatile CrystalAura.FastBreak fastBreakState;
+    final Set fastBroken = Collections.newSetFromMap(new ConcurrentHashMap());
 
     public CrystalAura() {
         super("Crystal Aura", Feature.Category.Combat);
@@ -131,35 +146,77 @@ public class CrystalAura extends Module {
         this.placeTimer.setPaused(true);
         this.highestID = 0;
         this.currStuck = 0;
+        this.fastBreakState = null;
+        this.fastBroken.clear();
         if (!NullUtils.nullCheck()) {
-            RotationUtil.INSTANCE.rotating = false;
-            RotationUtil.INSTANCE.resetRotations();
+            RotationUtil.INSTANCE.release(this);
         }
     }
 
     public void onDisable() {
         super.onDisable();
+        this.fastBreakState = null;
+        this.fastBroken.clear();
         if (!NullUtils.nullCheck()) {
-            RotationUtil.INSTANCE.rotating = false;
-            RotationUtil.INSTANCE.resetRotations();
+            RotationUtil.INSTANCE.release(this);
         }
     }
 
     @SubscribeEvent
     public void onTick(TickEvent event) {
         if (!NullUtils.nullCheck()) {
-            if (RotationUtil.INSTANCE.rotatedYaw == RotationUtil.INSTANCE.yaw && RotationUtil.INSTANCE.rotatedPitch == RotationUtil.INSTANCE.pitch) {
-                RotationUtil.INSTANCE.rotating = false;
-                RotationUtil.INSTANCE.resetRotations();
+            if (event instanceof ClientTickEvent && event.phase == TickEvent.Phase.START) {
+                String mode = (String) this.autoDelay.getValue();
+
+                this.placeTimer.setDelay(LatencyManager.INSTANCE.getDelay(LatencyManager.Action.Place, mode, ((Number) this.placeDelay.getValue()).longValue()));
+                this.breakTimer.setDelay(LatencyManager.INSTANCE.getDelay(LatencyManager.Action.Attack, mode, ((Number) this.breakDelay.getValue()).longValue()));
+                this.placeTimer.setServerTicks(((Boolean) this.serverTicks.getValue()).booleanValue());
+                this.breakTimer.setServerTicks(((Boolean) this.serverTicks.getValue()).booleanValue());
+            }
+
+            if (RotationUtil.INSTANCE.isRotated(this)) {
+                RotationUtil.INSTANCE.release(this);
             }
 
             this.target = TargetUtils.getTarget(((Number) this.targetRange.getValue()).doubleValue());
             if (this.target != null) {
                 this.doCrystalAura(event);
             }
+
+            if (event instanceof ClientTickEvent) {
+                this.publishFastBreak();
+            }
         }
     }
 
+    void publishFastBreak() {
+        if (((Boolean) this.fastBreak.getValue()).booleanValue() && this.target != null) {
+            HashSet accepted = new HashSet();
+            boolean lethal = (double) (this.target.getHealth() + this.target.getAbsorptionAmount()) <= ((Number) this.lethalHealth.getValue()).doubleValue();
+            double minDMG = lethal ? ((Number) this.lethalMinDmg.getValue()).doubleValue() : ((Number) this.minDamage.getValue()).doubleValue();
+            double maxDMG = lethal ? ((Number) this.lethalMaxSelfDmg.getValue()).doubleValue() : ((Number) this.maxSelfDamage.getValue()).doubleValue();
+
+            if (this.placePos != null) {
+                accepted.add(Long.valueOf(this.placePos.crystalPos.up().toLong()));
+            }
+
+            Iterator iterator = this.oldPlacements.iterator();
+
+            while (iterator.hasNext()) {
+                CrystalUtil.Crystal crystal = (CrystalUtil.Crystal) iterator.next();
+
+                if (crystal != null && (double) crystal.getEnemyDamage() > minDMG && (double) crystal.getSelfDamage() < maxDMG && crystal.getEnemyDamage() > crystal.getSelfDamage()) {
+                    accepted.add(Long.valueOf(crystal.crystalPos.up().toLong()));
+                }
+            }
+
+            this.fastBreakState = new CrystalAura.FastBreak(CrystalAura.mc.player.posX, CrystalAura.mc.player.posY, CrystalAura.mc.player.posZ, ((Number) this.range.getValue()).doubleValue(), (double) CrystalAura.mc.player.getHealth() >= ((Number) this.onlyOwnHealth.getValue()).doubleValue(), ((Number) this.breakAttempts.getValue()).intValue(), Collections.unmodifiableSet(accepted));
+        } else {
+            this.fastBreakState = null;
+        }
+
+    }
+
     public void doCrystalAura(TickEvent event) {
         int oldSlotWeak;
         int i;
@@ -169,8 +226,10 @@ public class CrystalAura extends Module {
             if (((Boolean) this.fastTickPlace.getValue()).booleanValue() || event instanceof ClientTickEvent) {
                 int crystal = InventoryUtils.getInventoryItemSlot(Item.getItemFromBlock(Blocks.OBSIDIAN));
                 boolean swordSlot = (double) (this.target.getHealth() + this.target.getAbsorptionAmount()) <= ((Number) this.lethalHealth.getValue()).doubleValue();
+                String targetMode = (String) this.targetMode.getValue();
+                List targets = targetMode.equals("Single") ? Collections.singletonList(this.target) : TargetUtils.getTargets(((Number) this.targetRange.getValue()).doubleValue());
 
-                this.placePos = CrystalUtil.getPlacePos(this.target, ((Number) this.range.getValue()).doubleValue(), ((Number) this.wallsRange.getValue()).doubleValue(), ((Boolean) this.one13.getValue()).booleanValue(), ((Number) this.moveFactor.getValue()).doubleValue(), ((Boolean) this.antiSuicide.getValue()).booleanValue() && (double) (CrystalAura.mc.player.getHealth() + CrystalAura.mc.player.getAbsorptionAmount()) <= ((Number) this.antiSuicideHealth.getValue()).doubleValue(), ((Number) this.antiSuicideFactor.getValue()).doubleValue(), swordSlot ? ((Number) this.lethalMinDmg.getValue()).doubleValue() : ((Number) this.minDamage.getValue()).doubleValue(), swordSlot ? ((Number) this.lethalMaxSelfDmg.getValue()).doubleValue() : ((Number) this.maxSelfDamage.getValue()).doubleValue(), ((Boolean) this.placeInhibit.getValue()).booleanValue(), ((Boolean) this.placeBlocks.getValue()).booleanValue() && crystal != -1, ((Number) this.raytraceHits.getValue()).intValue(), ((Number) this.shrinkFactor.getValue()).doubleValue());
+                this.placePos = CrystalUtil.getPlacePos(targets, targetMode.equals("Single") ? CrystalUtil.Objective.Max : CrystalUtil.Objective.valueOf(targetMode), ((Number) this.range.getValue()).doubleValue(), ((Number) this.wallsRange.getValue()).doubleValue(), ((Boolean) this.one13.getValue()).booleanValue(), ((Number) this.moveFactor.getValue()).doubleValue(), ((Boolean) this.antiSuicide.getValue()).booleanValue() && (double) (CrystalAura.mc.player.getHealth() + CrystalAura.mc.player.getAbsorptionAmount()) <= ((Number) this.antiSuicideHealth.getValue()).doubleValue(), ((Number) this.antiSuicideFactor.getValue()).doubleValue(), swordSlot ? ((Number) this.lethalMinDmg.getValue()).doubleValue() : ((Number) this.minDamage.getValue()).doubleValue(), swordSlot ? ((Number) this.lethalMaxSelfDmg.getValue()).doubleValue() : ((Number) this.maxSelfDamage.getValue()).doubleValue(), ((Boolean) this.placeInhibit.getValue()).booleanValue(), ((Boolean) this.placeBlocks.getValue()).booleanValue() && crystal != -1, ((Number) this.raytraceHits.getValue()).intValue(), ((Number) this.shrinkFactor.getValue()).doubleValue(), ((Number) this.threads.getValue()).intValue());
                 if (this.placePos != null) {
                     if (this.oldPlacements.contains(this.placePos)) {
                         this.oldPlacements.remove(this.placePos);
@@ -200,8 +259,9 @@ public class CrystalAura extends Module {
 
                     if (CrystalAura.mc.player.getHeldItem(CrystalUtil.getCrystalHand()).getItem() == Items.END_CRYSTAL || ((Boolean) this.ghostSwitch.getValue()).booleanValue()) {
                         EnumHand enumhand = ((String) this.swingMode.getValue()).equals("None") ? null : (((String) this.swingMode.getValue()).equals("Auto") ? CrystalUtil.getCrystalHand() : (((String) this.swingMode.getValue()).equals("Offhand") ? EnumHand.OFF_HAND : EnumHand.MAIN_HAND));
+                        int attempts = this.getAttempts(this.placeAttempts);
 
-                        for (i1 = 0; i1 < ((Number) this.placeAttempts.getValue()).intValue(); ++i1) {
+                        for (i1 = 0; i1 < attempts; ++i1) {
                             CrystalUtil.placeCrystal(this.placePos.crystalPos, ((Boolean) this.packetPlace.getValue()).booleanValue(), enumhand);
                         }
 
@@ -244,11 +304,12 @@ public class CrystalAura extends Module {
                 if (((Boolean) this.predict.getValue()).booleanValue()) {
                     if (!((Boolean) this.smartPredict.getValue()).booleanValue() || this.shouldPredict) {
                         i = this.highestID + ((Number) this.startFactor.getValue()).intValue();
+                        int attempts = this.getAttempts(this.breakPredictAttempts);
 
-                        for (i1 = 0; i1 < ((Number) this.breakPredictAttempts.getValue()).intValue(); ++i1) {
+                        for (i1 = 0; i1 < attempts; ++i1) {
                             int crystalID = i + i1 * (((Boolean) this.autoSkip.getValue()).booleanValue() ? this.lastSkip : ((Number) this.skip.getValue()).intValue());
 
-                            if (!CrystalUtil.hitCrystals.contains(Integer.valueOf(crystalID))) {
+                            if (!CrystalUtil.hitCrystals.contains(crystalID)) {
                                 CrystalUtil.breakCrystal(crystalID);
                             }
                         }
@@ -258,11 +319,12 @@ public class CrystalAura extends Module {
                     }
                 } else if (entityendercrystal != null) {
                     if (((Boolean) this.breakRotate.getValue()).booleanValue()) {
-                        RotationUtil.INSTANCE.rotating = true;
-                        RotationUtil.INSTANCE.rotate(entityendercrystal.getPositionVector());
+                        RotationUtil.INSTANCE.submit(this, entityendercrystal.getPositionVector(), 2, 5);
                     }
 
-                    for (i = 0; i < ((Number) this.breakAttempts.getValue()).intValue(); ++i) {
+                    int attempts = this.getAttempts(this.breakAttempts);
+
+                    for (i = 0; i < attempts; ++i) {
                         CrystalUtil.breakCrystal(entityendercrystal);
                     }
 
@@ -287,17 +349,42 @@ public class CrystalAura extends Module {
 
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketSpawnObject.class}
+    )
     public void onPacket(PacketEvent event) {
+        CrystalAura.FastBreak state = this.fastBreakState;
+
+        if (state != null && !NullUtils.nullCheck() && event.getPacket() instanceof SPacketSpawnObject) {
+            SPacketSpawnObject packet = (SPacketSpawnObject) event.getPacket();
+
+            if (packet.getType() == 51 && state.accepts(packet.getX(), packet.getY(), packet.getZ())) {
+                LatencyManager.INSTANCE.onAttack(packet.getX(), packet.getY(), packet.getZ());
+                int attempts = getAttempts(state.attempts);
+
+                for (int i = 0; i < attempts; ++i) {
+                    CrystalUtil.breakCrystal(packet.getEntityID());
+                }
+
+                this.fastBroken.add(Integer.valueOf(packet.getEntityID()));
+            }
+        }
+
+    }
+
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketSpawnObject.class}
+    )
+    public void onSpawn(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketSpawnObject) {
                 SPacketSpawnObject packet = (SPacketSpawnObject) event.getPacket();
 
-                if (((Boolean) this.fastBreak.getValue()).booleanValue() && this.target != null && packet.getType() == 51 && CrystalAura.mc.player.getDistance(packet.getX(), packet.getY(), packet.getZ()) <= ((Number) this.range.getValue()).doubleValue() && ((double) CrystalAura.mc.player.getHealth() >= ((Number) this.onlyOwnHealth.getValue()).doubleValue() || this.isSelfCrystal(new BlockPos(packet.getX(), packet.getY(), packet.getZ())))) {
-                    for (int i = 0; i < ((Number) this.breakAttempts.getValue()).intValue(); ++i) {
-                        CrystalUtil.breakCrystal(packet.getEntityID());
-                    }
-
+                if (this.fastBroken.remove(Integer.valueOf(packet.getEntityID()))) {
                     this.curAlpha = ((Color) this.fillColorS.getValue()).getAlpha() + ((Number) this.pulseAmount.getValue()).intValue();
                     this.lastBroke = System.currentTimeMillis();
                     this.breakTimer.resetDelay();
@@ -308,6 +395,17 @@ public class CrystalAura extends Module {
                 this.checkID(packet.getEntityID());
             }
 
+        }
+    }
+
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketSoundEffect.class}
+    )
+    public void onSound(PacketEvent event) {
+        if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketSoundEffect) {
                 SPacketSoundEffect spacketsoundeffect = (SPacketSoundEffect) event.getPacket();
 
@@ -327,14 +425,12 @@ public class CrystalAura extends Module {
         }
     }
 
-    boolean isSelfCrystal(BlockPos pos) {
-        double targetDamage = (double) CrystalUtil.calculateDamage((double) pos.getX() + 0.5D, (double) (pos.getY() + 1), (double) pos.getZ() + 0.5D, this.target, 0.0D);
-        double selfDamage = (double) CrystalUtil.calculateDamage((double) pos.getX() + 0.5D, (double) (pos.getY() + 1), (double) pos.getZ() + 0.5D, CrystalAura.mc.player, 0.0D);
-        boolean lethal = (double) (this.target.getHealth() + this.target.getAbsorptionAmount()) <= ((Number) this.lethalHealth.getValue()).doubleValue();
-        double minDMG = lethal ? ((Number) this.lethalMinDmg.getValue()).doubleValue() : ((Number) this.minDamage.getValue()).doubleValue();
-        double maxDMG = lethal ? ((Number) this.lethalMaxSelfDmg.getValue()).doubleValue() : ((Number) this.maxSelfDamage.getValue()).doubleValue();
+    int getAttempts(Value attempts) {
+        return getAttempts(((Number) attempts.getValue()).intValue());
+    }
 
-        return this.placePos.crystalPos.equals(pos) || targetDamage > minDMG && selfDamage < maxDMG && targetDamage > selfDamage;
+    static int getAttempts(int attempts) {
+        return Math.max(1, Math.min(attempts, PacketManager.INSTANCE.getBudget(PacketManager.Priority.Critical)));
     }
 
     void checkID(int id) {
@@ -400,4 +496,33 @@ public class CrystalAura extends Module {
     double normalize(double value, double min, double max) {
         return (value - min) / (max - min);
     }
+
+    static class FastBreak {
+
+        final double x;
+        final double y;
+        final double z;
+        final double rangeSq;
+        final boolean healthy;
+        final int attempts;
+        final Set accepted;
+
+        FastBreak(double x, double y, double z, double range, boolean healthy, int attempts, Set accepted) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.rangeSq = range * range;
+            this.healthy = healthy;
+            this.attempts = attempts;
+            this.accepted = accepted;
+        }
+
+        boolean accepts(double x, double y, double z) {
+            double diffX = x - this.x;
+            double diffY = y - this.y;
+            double diffZ = z - this.z;
+
+            return diffX * diffX + diffY * diffY + diffZ * diffZ <= this.rangeSq && (this.healthy || this.accepted.contains(Long.valueOf((new BlockPos(x, y, z)).toLong())));
+        }
+    }
 }
@@ -16,6 +16,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.HoleManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.Timer;
 import tech.mmmax.kami.api.utils.player.InventoryUtils;
@@ -23,6 +24,7 @@ import tech.mmmax.kami.api.utils.player.RotationUtil;
 import tech.mmmax.kami.api.utils.player.TargetUtils;
 import tech.mmmax.kami.api.utils.world.BlockUtils;
 import tech.mmmax.kami.api.utils.world.HoleUtils;
+import tech.mmmax.kami.api.utils.world.Raycaster;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
 
@@ -32,6 +34,7 @@ public class HoleFill extends Module {
     Value range = (new ValueBuilder()).withDescriptor("Range").withValue(Double.valueOf(5.0D)).withRange(Double.valueOf(1.0D), Double.valueOf(10.0D)).register(this);
     Value wallRange = (new ValueBuilder()).withDescriptor("Wall Range").withValue(Double.valueOf(3.0D)).withRange(Double.valueOf(1.0D), Double.valueOf(10.0D)).register(this);
     Value delay = (new ValueBuilder()).withDescriptor("Delay", "delay").withValue(Integer.valueOf(1)).withRange(Integer.valueOf(0), Integer.valueOf(1000)).register(this);
+    Value serverTicks = (new ValueBuilder()).withDescriptor("Server Ticks").withValue(Boolean.valueOf(false)).register(this);
     Value blocksPerTick = (new ValueBuilder()).withDescriptor("Blocks Per Tick", "blocksPerTick").withValue(Integer.valueOf(1)).withRange(Integer.valueOf(1), Integer.valueOf(10)).register(this);
     Value disableAfter = (new ValueBuilder()).withDescriptor("Disable", "disable").withValue(Boolean.valueOf(true)).register(this);
     Value rotate = (new ValueBuilder()).withDescriptor("Rotate", "rotate").withValue(Boolean.valueOf(true)).register(this);
@@ -60,6 +63,7 @@ public class HoleFill extends Module {
         if (!NullUtils.nullCheck()) {
             this.target = TargetUtils.getTarget(((Number) this.smartTargetRange.getValue()).doubleValue());
             this.timeSystem.setDelay(((Number) this.delay.getValue()).longValue());
+            this.timeSystem.setServerTicks(((Boolean) this.serverTicks.getValue()).booleanValue());
             int blocksPlaced = 0;
 
             if (this.timeSystem.isPassed()) {
@@ -115,11 +119,7 @@ public class HoleFill extends Module {
 
                 this.timeSystem.resetDelay();
             } else {
-                if (RotationUtil.INSTANCE.rotating) {
-                    RotationUtil.INSTANCE.resetRotations();
-                }
-
-                RotationUtil.INSTANCE.rotating = false;
+                RotationUtil.INSTANCE.release(this);
             }
 
         }
@@ -130,7 +130,7 @@ public class HoleFill extends Module {
     }
 
     public void loadHoles() {
-        this.holes = (List) HoleUtils.getHoles(((Number) this.range.getValue()).doubleValue(), HoleFill.mc.player.getPosition(), ((Boolean) this.doubles.getValue()).booleanValue()).stream().filter((hole) -> {
+        this.holes = (List) HoleManager.INSTANCE.getHoles(((Number) this.range.getValue()).doubleValue(), HoleFill.mc.player.getPosition(), ((Boolean) this.doubles.getValue()).booleanValue()).stream().filter((hole) -> {
             boolean isAllowedHole = true;
             AxisAlignedBB bb = hole.doubleHole ? new AxisAlignedBB((double) hole.pos1.getX(), (double) hole.pos1.getY(), (double) hole.pos1.getZ(), (double) (hole.pos2.getX() + 1), (double) (hole.pos2.getY() + 1), (double) (hole.pos2.getZ() + 1)) : new AxisAlignedBB(hole.pos1);
 
@@ -153,7 +153,7 @@ public class HoleFill extends Module {
             return isAllowedSmart;
         }).filter((hole) -> {
             BlockPos pos = hole.pos1.add(0, 1, 0);
-            boolean raytrace = HoleFill.mc.world.rayTraceBlocks(BlockUtils.getEyesPos(), new Vec3d(pos)) != null;
+            boolean raytrace = !Raycaster.isClear(BlockUtils.getEyesPos(), new Vec3d(pos));
 
             return !raytrace || HoleFill.mc.player.getDistance((double) pos.getX(), (double) pos.getY(), (double) pos.getZ()) <= ((Number) this.wallRange.getValue()).doubleValue();
         }).collect(Collectors.toList());
@@ -183,16 +183,16 @@ public class HoleFill extends Module {
 
     public void doRotate(BlockPos pos) {
         if (((Boolean) this.rotate.getValue()).booleanValue()) {
-            if (!RotationUtil.INSTANCE.rotating) {
-                RotationUtil.INSTANCE.rotating = true;
-            }
-
-            RotationUtil.INSTANCE.rotate(new Vec3d((double) pos.getX(), (double) pos.getY(), (double) pos.getZ()));
+            RotationUtil.INSTANCE.submit(this, new Vec3d((double) pos.getX(), (double) pos.getY(), (double) pos.getZ()), 1, 5);
         }
 
     }
 
     public void onDisable() {
         super.onDisable();
+        if (!NullUtils.nullCheck()) {
+            RotationUtil.INSTANCE.release(this);
+        }
+
     }
 }
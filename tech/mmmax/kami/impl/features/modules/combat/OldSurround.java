@@ -19,7 +19,10 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingJumpEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.Delivery;
+import tech.mmmax.kami.api.event.PacketFilter;
 import tech.mmmax.kami.api.event.PostPacketEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -144,7 +147,12 @@ public class OldSurround extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketBlockChange.class}
+    )
     public void onPostPacket(PostPacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketBlockChange && ((Boolean) this.antiCity.getValue()).booleanValue()) {
@@ -2,21 +2,18 @@ package tech.mmmax.kami.impl.features.modules.combat;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.HoleManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.player.TargetUtils;
 import tech.mmmax.kami.api.utils.world.HoleUtils;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
-import tech.mmmax.kami.api.wrapper.IMinecraft;
 
 public class PvPBot extends Module {
 
@@ -24,8 +21,6 @@ public class PvPBot extends Module {
     Value doubles = (new ValueBuilder()).withDescriptor("Doubles").withValue(Boolean.valueOf(true)).register(this);
     Entity target;
     List holes;
-    boolean initialized;
-    ExecutorService service = Executors.newCachedThreadPool();
 
     public PvPBot() {
         super("PvP Bot", Feature.Category.Combat);
@@ -33,10 +28,6 @@ public class PvPBot extends Module {
 
     public void onEnable() {
         super.onEnable();
-        if (!this.initialized) {
-            this.service.submit(new PvPBot.HoleCallable());
-        }
-
     }
 
     public void onDisable() {
@@ -47,7 +38,8 @@ public class PvPBot extends Module {
     public void onUpdate(ClientTickEvent event) {
         if (!NullUtils.nullCheck()) {
             this.target = TargetUtils.getTarget(((Number) this.targetRange.getValue()).doubleValue());
-            if (this.holes != null) {
+            this.holes = HoleManager.INSTANCE.getHoles(((Number) this.targetRange.getValue()).doubleValue(), PvPBot.mc.player.getPosition(), ((Boolean) this.doubles.getValue()).booleanValue());
+            if (this.target != null) {
                 HoleUtils.Hole targetHole = (HoleUtils.Hole) this.holes.stream().min(Comparator.comparingDouble(applyAsDouble<invokedynamic>(this))).orElse((Object) null);
 
                 if (targetHole != null) {
@@ -65,25 +57,6 @@ public class PvPBot extends Module {
         return PvPBot.mc.player.getDistance((double) pos.getX(), (double) pos.getY(), (double) pos.getZ()) + this.target.getDistance((double) pos.getX(), (double) pos.getY(), (double) pos.getZ());
     }
 
-    public class HoleCallable implements Callable {
-
-        public Object call() throws Exception {
-            PvPBot.this.initialized = true;
-            this.doThreading();
-            PvPBot.this.initialized = false;
-            return null;
-        }
-
-        public void doThreading() {
-            while (true) {
-                if (!NullUtils.nullCheck()) {
-                    PvPBot.this.holes = HoleUtils.getHoles(((Number) PvPBot.this.targetRange.getValue()).doubleValue(), IMinecraft.mc.player.getPosition(), ((Boolean) PvPBot.this.doubles.getValue()).booleanValue());
-                    System.out.println("aaaa");
-                }
-            }
-        }
-    }
-
     public static enum HoleType {
 
         BedrockSafe(2.0D), ObsidianUnsafe(3.0D), DoubleUnsafe(4.0D);
@@ -16,9 +16,13 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import tech.mmmax.kami.api.event.Delivery;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.LatencyManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.Timer;
 import tech.mmmax.kami.api.utils.player.InventoryUtils;
@@ -33,6 +37,8 @@ public class Surround extends Module {
     Value delay = (new ValueBuilder()).withDescriptor("Delay").withValue(Integer.valueOf(0)).withRange(Integer.valueOf(0), Integer.valueOf(1000)).withAction((set) -> {
         this.timer.setDelay(((Number) set.getValue()).longValue());
     }).register(this);
+    Value autoDelay = (new ValueBuilder()).withDescriptor("Auto Delay").withValue("Off").withModes(new String[] { "Off", "P50", "P90"}).register(this);
+    Value serverTicks = (new ValueBuilder()).withDescriptor("Server Ticks").withValue(Boolean.valueOf(false)).register(this);
     Value blocksPerTick = (new ValueBuilder()).withDescriptor("BPT").withValue(Integer.valueOf(20)).withRange(Integer.valueOf(1), Integer.valueOf(50)).register(this);
     Value retryAmount = (new ValueBuilder()).withDescriptor("Retry Amount").withValue(Integer.valueOf(20)).withRange(Integer.valueOf(1), Integer.valueOf(50)).register(this);
     Value dynamic = (new ValueBuilder()).withDescriptor("Dynamic").withValue(Boolean.valueOf(true)).register(this);
@@ -52,6 +58,8 @@ public class Surround extends Module {
     @SubscribeEvent
     public void onTick(ClientTickEvent event) {
         if (!NullUtils.nullCheck()) {
+            this.timer.setDelay(LatencyManager.INSTANCE.getDelay(LatencyManager.Action.Block, (String) this.autoDelay.getValue(), ((Number) this.delay.getValue()).longValue()));
+            this.timer.setServerTicks(((Boolean) this.serverTicks.getValue()).booleanValue());
             this.shouldPredict = true;
             if (((Boolean) this.jumpDisable.getValue()).booleanValue() && (!Surround.mc.player.onGround || Surround.mc.player.posY != this.startY)) {
                 this.setEnabled(false);
@@ -103,7 +111,12 @@ public class Surround extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketBlockChange.class}
+    )
     public void onPacket(PacketEvent event) {
         if (event.getPacket() instanceof SPacketBlockChange && ((Boolean) this.predict.getValue()).booleanValue()) {
             SPacketBlockChange packet = (SPacketBlockChange) event.getPacket();
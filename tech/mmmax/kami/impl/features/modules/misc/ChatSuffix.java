@@ -1,8 +1,9 @@
 package tech.mmmax.kami.impl.features.modules.misc;
 
 import net.minecraft.network.play.client.CPacketChatMessage;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -23,7 +24,11 @@ public class ChatSuffix extends Module {
         this.filters = new String[] { ".", "/", ",", ":", "`", "-"};
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketChatMessage.class},
+        time = { PacketEvent.Time.Send}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getTime() == PacketEvent.Time.Send && event.getPacket() instanceof CPacketChatMessage && this.allowMessage(((CPacketChatMessage) event.getPacket()).getMessage())) {
@@ -18,11 +18,14 @@ import net.minecraft.world.storage.MapData;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.chat.ChatMessage;
 import tech.mmmax.kami.api.utils.chat.ChatUtils;
+import tech.mmmax.kami.api.utils.network.InboundFilter;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
 import tech.mmmax.kami.mixin.mixins.access.IEntity;
@@ -31,11 +34,22 @@ public class ChunkCoordExploit extends Module {
 
     Value mode = (new ValueBuilder()).withDescriptor("Mode").withValue("Leaked").withModes(new String[] { "Leaked", "Test"}).register(this);
     Value packetsPerTick = (new ValueBuilder()).withDescriptor("Packet Count").withValue(Integer.valueOf(2)).withRange(Integer.valueOf(0), Integer.valueOf(10)).register(this);
+    InboundFilter.Request drops = new InboundFilter.Request(new Class[] { SPacketEntityVelocity.class, SPacketEntityTeleport.class});
 
     public ChunkCoordExploit() {
         super("CoordExploit", Feature.Category.Misc);
     }
 
+    public void onEnable() {
+        super.onEnable();
+        this.drops.set(true);
+    }
+
+    public void onDisable() {
+        super.onDisable();
+        this.drops.set(false);
+    }
+
     @SubscribeEvent
     public void onClientTick(ClientTickEvent event) {
         if (!NullUtils.nullCheck()) {
@@ -65,7 +79,10 @@ public class ChunkCoordExploit extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketConfirmTeleport.class, CPacketPlayerTryUseItem.class, SPacketMaps.class, SPacketEntityVelocity.class, SPacketEntityTeleport.class}
+    )
     public void onPacket(PacketEvent event) {
         if (event.getPacket() instanceof CPacketConfirmTeleport || event.getPacket() instanceof CPacketPlayerTryUseItem) {
             event.setCanceled(true);
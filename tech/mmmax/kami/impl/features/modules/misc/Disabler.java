@@ -6,6 +6,8 @@ import net.minecraft.network.play.server.SPacketPlayerAbilities;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -29,7 +31,10 @@ public class Disabler extends Module {
         super("Disabler", Feature.Category.Misc);
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketPlayerAbilities.class, CPacketPlayerAbilities.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck() && event != null) {
             if (event.getPacket() instanceof SPacketPlayerAbilities) {
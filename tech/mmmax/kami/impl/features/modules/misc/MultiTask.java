@@ -4,8 +4,9 @@ import net.minecraft.init.Items;
 import net.minecraft.network.play.client.CPacketPlayerDigging;
 import net.minecraft.network.play.client.CPacketPlayerDigging.Action;
 import net.minecraft.util.EnumHand;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.value.Value;
@@ -21,7 +22,10 @@ public class MultiTask extends Module {
         MultiTask.INSTANCE = this;
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayerDigging.class}
+    )
     public void onPacket(PacketEvent event) {
         if (event.getPacket() instanceof CPacketPlayerDigging && ((Boolean) this.cancel.getValue()).booleanValue()) {
             CPacketPlayerDigging packet = (CPacketPlayerDigging) event.getPacket();
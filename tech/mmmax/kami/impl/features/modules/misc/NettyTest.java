@@ -3,8 +3,8 @@ package tech.mmmax.kami.impl.features.modules.misc;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.play.client.CPacketChatMessage;
 import net.minecraft.network.play.server.SPacketDisconnect;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -24,7 +24,7 @@ public class NettyTest extends Module {
         super("NettyTest", Feature.Category.Misc);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onPacket(PacketEvent event) {
         if (event.getPacket() instanceof CPacketChatMessage && ((Boolean) this.switchNetty.getValue()).booleanValue() && this.networkManager != null) {
             ;
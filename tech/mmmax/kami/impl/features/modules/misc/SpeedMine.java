@@ -18,6 +18,8 @@ import net.minecraftforge.event.entity.player.PlayerInteractEvent.LeftClickBlock
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -241,7 +243,10 @@ public class SpeedMine extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayerDigging.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if ((((String) this.mode.getValue()).equals("Instant") || ((String) this.mode.getValue()).equals("InstantBypass")) && event.getPacket() instanceof CPacketPlayerDigging && ((CPacketPlayerDigging) event.getPacket()).getAction() == Action.START_DESTROY_BLOCK && this.packetCancel) {
@@ -11,6 +11,8 @@ import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.lwjgl.opengl.GL11;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -30,7 +32,10 @@ public class ChorusManipulation extends Module {
         super("ChorusMan", Feature.Category.Player);
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketPlayerPosLook.class, CPacketPlayer.class, CPacketConfirmTeleport.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketPlayerPosLook && ((Boolean) this.cancel.getValue()).booleanValue()) {
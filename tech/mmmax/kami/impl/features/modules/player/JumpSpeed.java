@@ -4,6 +4,7 @@ import java.util.function.Consumer;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -38,7 +39,7 @@ public class JumpSpeed extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void moveEvent(MoveEvent event) {
         if (!NullUtils.nullCheck()) {
             if (!JumpSpeed.mc.player.isInLava() && !JumpSpeed.mc.player.isInWater() && !JumpSpeed.mc.player.isOnLadder()) {
@@ -4,6 +4,7 @@ import net.minecraft.init.Blocks;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.RightClickBlock;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PickBlockEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -14,7 +15,7 @@ public class NoInteract extends Module {
         super("No Interact", Feature.Category.Player);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onPickBlock(PickBlockEvent event) {
         event.setCanceled(true);
     }
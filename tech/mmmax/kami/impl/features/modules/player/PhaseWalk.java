@@ -9,6 +9,8 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -38,7 +40,10 @@ public class PhaseWalk extends Module {
         super("PhaseWalk", Feature.Category.Player);
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { CPacketPlayer.class, CPacketConfirmTeleport.class, SPacketPlayerPosLook.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof CPacketPlayer && this.cancel && ((Boolean) this.cancelPlayer.getValue()).booleanValue()) {
@@ -110,7 +115,7 @@ public class PhaseWalk extends Module {
         this.cancel = true;
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onMove(MoveEvent event) {
         if (!NullUtils.nullCheck()) {
             if (this.shouldPacket()) {
@@ -3,6 +3,7 @@ package tech.mmmax.kami.impl.features.modules.player;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -30,7 +31,7 @@ public class ReverseStep extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void moveEvent(MoveEvent event) {
         if (!NullUtils.nullCheck()) {
             if (!ReverseStep.mc.player.isInLava() && !ReverseStep.mc.player.isInWater() && !ReverseStep.mc.player.isOnLadder()) {
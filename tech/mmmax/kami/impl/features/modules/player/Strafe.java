@@ -4,6 +4,7 @@ import net.minecraftforge.event.entity.living.LivingEvent.LivingJumpEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -59,7 +60,7 @@ public class Strafe extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onMove(MoveEvent event) {
         if (!NullUtils.nullCheck()) {
             if (PlayerUtils.isMoving(Strafe.mc.player)) {
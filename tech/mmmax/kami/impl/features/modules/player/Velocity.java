@@ -6,7 +6,9 @@ import net.minecraft.util.MovementInput;
 import net.minecraftforge.client.event.InputUpdateEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
 import tech.mmmax.kami.api.event.PushOutOfBlocksEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -27,7 +29,10 @@ public class Velocity extends Module {
         super("Velocity", Feature.Category.Player);
     }
 
-    @SubscribeEvent
+    @Subscribe
+    @PacketFilter(
+        value = { SPacketEntityVelocity.class, SPacketExplosion.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketEntityVelocity && ((SPacketEntityVelocity) event.getPacket()).getEntityID() == Velocity.mc.player.getEntityId()) {
@@ -73,7 +78,7 @@ public class Velocity extends Module {
 
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onPushOutOfBlocks(PushOutOfBlocksEvent event) {
         event.setCanceled(true);
     }
@@ -4,6 +4,7 @@ import java.util.function.Consumer;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.MoveEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -50,7 +51,7 @@ public class YPort extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onMove(MoveEvent event) {
         if (!NullUtils.nullCheck()) {
             if (PlayerUtils.isMoving(YPort.mc.player) && !YPort.mc.player.onGround && (double) YPort.mc.player.fallDistance <= ((Number) this.height.getValue()).doubleValue()) {
@@ -5,9 +5,9 @@ import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityEnderCrystal;
 import net.minecraft.util.ResourceLocation;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.lwjgl.opengl.GL11;
 import tech.mmmax.kami.api.event.RenderEntityEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.color.ColorUtil;
@@ -38,7 +38,7 @@ public class Chams extends Module {
         super("Chams", Feature.Category.Render);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void renderEntity(RenderEntityEvent event) {
         boolean nullCheck = Chams.mc.player == null || Chams.mc.world == null || event.entityIn == null;
 
@@ -11,7 +11,10 @@ import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.lwjgl.opengl.GL11;
+import tech.mmmax.kami.api.event.Delivery;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.MathUtil;
@@ -87,7 +90,12 @@ public class ChorusViewer extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketSoundEffect.class}
+    )
     public void onPacket(PacketEvent event) {
         if (event.getPacket() instanceof SPacketSoundEffect) {
             SPacketSoundEffect packet = (SPacketSoundEffect) event.getPacket();
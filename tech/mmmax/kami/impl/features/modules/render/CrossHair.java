@@ -4,8 +4,8 @@ import java.awt.Color;
 import java.util.function.Consumer;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.renderer.GlStateManager;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import tech.mmmax.kami.api.event.RenderCrosshairEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.gui.helpers.Rect;
@@ -40,7 +40,7 @@ public class CrossHair extends Module {
         super("Cross Hair", Feature.Category.Render);
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onRender(RenderCrosshairEvent event) {
         GlStateManager.disableTexture2D();
         if (((String) this.mode.getValue()).equals("Close")) {
@@ -5,6 +5,7 @@ import java.util.function.Consumer;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.RenderSkyEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -39,7 +40,7 @@ public class CustomSky extends Module {
         }
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void onRenderSky(RenderSkyEvent event) {
         if (!((String) this.mode.getValue()).equals(this.time)) {
             Color color = ((String) this.mode.getValue()).equals("Custom") ? new Color(((Number) this.red.getValue()).intValue(), ((Number) this.green.getValue()).intValue(), ((Number) this.blue.getValue()).intValue()) : ClickGui.CONTEXT.getColorScheme().getMainColor(0);
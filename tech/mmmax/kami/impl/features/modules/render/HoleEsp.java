@@ -4,8 +4,6 @@ import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -13,6 +11,8 @@ import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import org.lwjgl.opengl.GL11;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.HoleManager;
+import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.render.RenderUtil;
 import tech.mmmax.kami.api.utils.world.HoleUtils;
 import tech.mmmax.kami.api.value.Value;
@@ -38,8 +38,7 @@ public class HoleEsp extends Module {
     Value obbyLine2 = (new ValueBuilder()).withDescriptor("Obby Line2").withValue(new Color(255, 255, 255, 0)).register(this);
     Value doubleFill2 = (new ValueBuilder()).withDescriptor("Double Fill2").withValue(new Color(255, 0, 11, 0)).register(this);
     Value doubleLine2 = (new ValueBuilder()).withDescriptor("Double Line2").withValue(new Color(255, 255, 255, 0)).register(this);
-    ExecutorService service = Executors.newCachedThreadPool();
-    volatile List holes = new ArrayList();
+    List holes = new ArrayList();
 
     public HoleEsp() {
         super("Hole ESP", Feature.Category.Render);
@@ -47,9 +46,9 @@ public class HoleEsp extends Module {
 
     @SubscribeEvent
     public void onTick(ClientTickEvent e) {
-        this.service.submit(() -> {
-            // $FF: Couldn't be decompiled
-        });
+        if (!NullUtils.nullCheck()) {
+            this.holes = HoleManager.INSTANCE.getHoles(((Number) this.range.getValue()).doubleValue(), HoleEsp.mc.player.getPosition(), ((Boolean) this.doubles.getValue()).booleanValue());
+        }
     }
 
     @SubscribeEvent
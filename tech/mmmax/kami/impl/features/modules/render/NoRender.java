@@ -1,7 +1,11 @@
 package tech.mmmax.kami.impl.features.modules.render;
 
+import net.minecraft.network.play.server.SPacketParticles;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.utils.network.InboundFilter;
 import tech.mmmax.kami.api.value.Value;
 import tech.mmmax.kami.api.value.builder.ValueBuilder;
 
@@ -9,9 +13,21 @@ public class NoRender extends Module {
 
     public static NoRender INSTANCE;
     Value blockInside = (new ValueBuilder()).withDescriptor("Block Inside").withValue(Boolean.valueOf(true)).register(this);
+    Value particles = (new ValueBuilder()).withDescriptor("Particles").withValue(Boolean.valueOf(false)).register(this);
+    InboundFilter.Request particleDrops = new InboundFilter.Request(new Class[] { SPacketParticles.class});
 
     public NoRender() {
         super("No Render", Feature.Category.Render);
         NoRender.INSTANCE = this;
     }
+
+    public void onDisable() {
+        super.onDisable();
+        this.particleDrops.set(false);
+    }
+
+    @SubscribeEvent
+    public void onUpdate(ClientTickEvent event) {
+        this.particleDrops.set(((Boolean) this.particles.getValue()).booleanValue());
+    }
 }
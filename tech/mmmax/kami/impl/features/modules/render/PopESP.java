@@ -10,7 +10,10 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.lwjgl.opengl.GL11;
+import tech.mmmax.kami.api.event.Delivery;
 import tech.mmmax.kami.api.event.PacketEvent;
+import tech.mmmax.kami.api.event.PacketFilter;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.utils.NullUtils;
@@ -38,7 +41,12 @@ public class PopESP extends Module {
         super("PopESP", Feature.Category.Render);
     }
 
-    @SubscribeEvent
+    @Subscribe(
+        delivery = Delivery.ClientTick
+    )
+    @PacketFilter(
+        value = { SPacketEntityStatus.class}
+    )
     public void onPacket(PacketEvent event) {
         if (!NullUtils.nullCheck()) {
             if (event.getPacket() instanceof SPacketEntityStatus) {
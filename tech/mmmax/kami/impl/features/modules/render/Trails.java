@@ -23,6 +23,7 @@ import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import org.lwjgl.opengl.GL11;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
+import tech.mmmax.kami.api.management.EntityManager;
 import tech.mmmax.kami.api.utils.NullUtils;
 import tech.mmmax.kami.api.utils.Timer;
 import tech.mmmax.kami.api.utils.color.ColorUtil;
@@ -52,7 +53,7 @@ public class Trails extends Module {
     @SubscribeEvent
     public void onTick(ClientTickEvent event) {
         if (!NullUtils.nullCheck()) {
-            Iterator playerTrail = Trails.mc.world.loadedEntityList.iterator();
+            Iterator playerTrail = EntityManager.INSTANCE.getEntities(EntityManager.Kind.Projectile).iterator();
 
             while (playerTrail.hasNext()) {
                 Entity toRemove = (Entity) playerTrail.next();
@@ -5,6 +5,7 @@ import net.minecraftforge.client.event.EntityViewRenderEvent.FOVModifier;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
 import tech.mmmax.kami.api.event.PerspectiveEvent;
+import tech.mmmax.kami.api.event.Subscribe;
 import tech.mmmax.kami.api.feature.Feature;
 import tech.mmmax.kami.api.feature.module.Module;
 import tech.mmmax.kami.api.value.Value;
@@ -59,7 +60,7 @@ public class ViewModel extends Module {
 
     }
 
-    @SubscribeEvent
+    @Subscribe
     public void setPerspective(PerspectiveEvent event) {
         if (((Boolean) this.aspect.getValue()).booleanValue()) {
             event.setAspect(((Number) this.aspectAmount.getValue()).floatValue());
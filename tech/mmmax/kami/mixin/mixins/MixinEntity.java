@@ -1,7 +1,6 @@
 package tech.mmmax.kami.mixin.mixins;
 
 import net.minecraft.entity.Entity;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -19,7 +18,7 @@ public class MixinEntity {
     public void pushOutOfBlocks(double x, double y, double z, CallbackInfoReturnable cir) {
         PushOutOfBlocksEvent event = new PushOutOfBlocksEvent();
 
-        MinecraftForge.EVENT_BUS.post(event);
+        PushOutOfBlocksEvent.CHANNEL.post(event);
         if (event.isCanceled()) {
             cir.cancel();
         }
@@ -8,7 +8,6 @@ import net.minecraft.entity.MoverType;
 import net.minecraft.stats.RecipeBook;
 import net.minecraft.stats.StatisticsManager;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -38,7 +37,7 @@ public class MixinEntityPlayerSP extends AbstractClientPlayer {
     public void move(MoverType type, double x, double y, double z, CallbackInfo ci) {
         MoveEvent event = new MoveEvent(type, x, y, z);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        MoveEvent.CHANNEL.post(event);
         if (event.isCanceled()) {
             ci.cancel();
         } else {
@@ -56,8 +55,9 @@ public class MixinEntityPlayerSP extends AbstractClientPlayer {
         cancellable = true
     )
     public void postMove(MoverType type, double x, double y, double z, CallbackInfo ci) {
-        PostMoveEvent event = new PostMoveEvent(x, y, z);
+        if (PostMoveEvent.CHANNEL.hasListeners()) {
+            PostMoveEvent.CHANNEL.post(new PostMoveEvent(x, y, z));
+        }
 
-        MinecraftForge.EVENT_BUS.post(event);
     }
 }
@@ -2,7 +2,6 @@ package tech.mmmax.kami.mixin.mixins;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.EntityRenderer;
-import net.minecraftforge.common.MinecraftForge;
 import org.lwjgl.util.glu.Project;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -28,7 +27,7 @@ public class MixinEntityRenderer {
     private void onSetupCameraTransform(float fovy, float aspect, float zNear, float zFar) {
         PerspectiveEvent event = new PerspectiveEvent((float) this.mc.displayWidth / (float) this.mc.displayHeight);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        PerspectiveEvent.CHANNEL.post(event);
         Project.gluPerspective(fovy, event.getAspect(), zNear, zFar);
     }
 
@@ -42,7 +41,7 @@ public class MixinEntityRenderer {
     private void onRenderWorldPass(float fovy, float aspect, float zNear, float zFar) {
         PerspectiveEvent event = new PerspectiveEvent((float) this.mc.displayWidth / (float) this.mc.displayHeight);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        PerspectiveEvent.CHANNEL.post(event);
         Project.gluPerspective(fovy, event.getAspect(), zNear, zFar);
     }
 
@@ -56,7 +55,7 @@ public class MixinEntityRenderer {
     private void onRenderCloudsCheck(float fovy, float aspect, float zNear, float zFar) {
         PerspectiveEvent event = new PerspectiveEvent((float) this.mc.displayWidth / (float) this.mc.displayHeight);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        PerspectiveEvent.CHANNEL.post(event);
         Project.gluPerspective(fovy, event.getAspect(), zNear, zFar);
     }
 }
@@ -4,7 +4,6 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeHooks;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -23,7 +22,7 @@ public class MixinForgeHooks {
     private static void onPickBlock(RayTraceResult target, EntityPlayer player, World world, CallbackInfoReturnable cir) {
         PickBlockEvent event = new PickBlockEvent();
 
-        MinecraftForge.EVENT_BUS.post(event);
+        PickBlockEvent.CHANNEL.post(event);
         if (event.isCanceled()) {
             cir.cancel();
         }
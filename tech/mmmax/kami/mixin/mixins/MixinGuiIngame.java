@@ -2,7 +2,6 @@ package tech.mmmax.kami.mixin.mixins;
 
 import net.minecraft.client.gui.GuiIngame;
 import net.minecraft.client.gui.ScaledResolution;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -20,7 +19,7 @@ public class MixinGuiIngame {
     public void renderAttackIndicatorHook(float partialTicks, ScaledResolution sr, CallbackInfo ci) {
         RenderCrosshairEvent event = new RenderCrosshairEvent(partialTicks, sr);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        RenderCrosshairEvent.CHANNEL.post(event);
         if (event.isCanceled()) {
             ci.cancel();
         }
@@ -3,7 +3,6 @@ package tech.mmmax.kami.mixin.mixins;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.item.ItemChorusFruit;
 import net.minecraft.item.ItemFood;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
@@ -26,7 +25,7 @@ public class MixinItemChorusFruit extends ItemFood {
     public boolean attemptTeleportHook(EntityLivingBase entityLivingBase, double x, double y, double z) {
         ChorusEvent event = new ChorusEvent(entityLivingBase, x, y, z);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        ChorusEvent.CHANNEL.post(event);
         return !event.isCanceled() ? entityLivingBase.attemptTeleport(x, y, z) : event.isSuccessful();
     }
 }
@@ -3,7 +3,6 @@ package tech.mmmax.kami.mixin.mixins;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.ItemRenderer;
 import net.minecraft.util.EnumHandSide;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
@@ -22,7 +21,7 @@ public class MixinItemRenderer {
     public void transformRedirect(ItemRenderer renderer, EnumHandSide hand, float y) {
         RenderItemEvent event = new RenderItemEvent(0.5600000023841858D, (double) (-0.52F + y * -0.6F), -0.7200000286102295D, -0.5600000023841858D, (double) (-0.52F + y * -0.6F), -0.7200000286102295D, 0.0D, 0.0D, 1.0D, 0.0D, 0.0D, 0.0D, 1.0D, 0.0D, 1.0D, 1.0D, 1.0D, 1.0D, 1.0D, 1.0D);
 
-        MinecraftForge.EVENT_BUS.post(event);
+        RenderItemEvent.CHANNEL.post(event);
         if (hand == EnumHandSide.RIGHT) {
             GlStateManager.translate(event.getMainX(), event.getMainY(), event.getMainZ());
             GlStateManager.scale(event.getMainHandScaleX(), event.getMainHandScaleY(), event.getMainHandScaleZ());
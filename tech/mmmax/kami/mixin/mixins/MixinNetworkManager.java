@@ -3,13 +3,15 @@ package tech.mmmax.kami.mixin.mixins;
 import io.netty.channel.ChannelHandlerContext;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.Packet;
-import net.minecraftforge.common.MinecraftForge;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import tech.mmmax.kami.api.event.PacketEvent;
 import tech.mmmax.kami.api.event.PostPacketEvent;
+import tech.mmmax.kami.api.management.PacketManager;
+import tech.mmmax.kami.api.utils.network.PacketMetrics;
+import tech.mmmax.kami.api.utils.network.PacketReplay;
 
 @Mixin({ NetworkManager.class})
 public class MixinNetworkManager {
@@ -20,13 +22,35 @@ public class MixinNetworkManager {
         cancellable = true
     )
     private void onSendPacket(Packet packet, CallbackInfo callbackInfo) {
-        PacketEvent packetEvent = new PacketEvent(packet, PacketEvent.Time.Send);
+        if (PacketManager.INSTANCE == null || !PacketManager.INSTANCE.isFlushing()) {
+            if (PacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Send)) {
+                PacketEvent packetEvent = new PacketEvent(packet, PacketEvent.Time.Send);
 
-        MinecraftForge.EVENT_BUS.post(packetEvent);
-        if (packetEvent.isCanceled()) {
-            callbackInfo.cancel();
-        }
+                PacketEvent.CHANNEL.post(packetEvent);
+                if (packetEvent.isCanceled()) {
+                    if (PacketManager.INSTANCE != null) {
+                        PacketManager.INSTANCE.forget(packet);
+                    }
+
+                    callbackInfo.cancel();
+                    return;
+                }
+            }
+
+            if (PacketReplay.swallow(packet)) {
+                if (PacketManager.INSTANCE != null) {
+                    PacketManager.INSTANCE.forget(packet);
+                }
+
+                callbackInfo.cancel();
+                return;
+            }
 
+            if (PacketManager.INSTANCE != null && PacketManager.INSTANCE.hold((NetworkManager) (Object) this, packet)) {
+                callbackInfo.cancel();
+            }
+
+        }
     }
 
     @Inject(
@@ -35,11 +59,18 @@ public class MixinNetworkManager {
         cancellable = true
     )
     private void postSendPacket(Packet packet, CallbackInfo callbackInfo) {
-        PostPacketEvent packetEvent = new PostPacketEvent(packet);
+        if (PacketManager.INSTANCE != null) {
+            PacketManager.INSTANCE.onSent((NetworkManager) (Object) this, packet);
+        }
+
+        PacketMetrics.record(packet.getClass(), PacketEvent.Time.Send);
+        if (PostPacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Send)) {
+            PostPacketEvent packetEvent = new PostPacketEvent(packet, PacketEvent.Time.Send);
 
-        MinecraftForge.EVENT_BUS.post(packetEvent);
-        if (packetEvent.isCanceled()) {
-            callbackInfo.cancel();
+            PostPacketEvent.CHANNEL.post(packetEvent);
+            if (packetEvent.isCanceled()) {
+                callbackInfo.cancel();
+            }
         }
 
     }
@@ -50,11 +81,14 @@ public class MixinNetworkManager {
         cancellable = true
     )
     private void onChannelRead(ChannelHandlerContext channelHandlerContext, Packet packet, CallbackInfo callbackInfo) {
-        PacketEvent packetEvent = new PacketEvent(packet, PacketEvent.Time.Receive);
+        PacketMetrics.record(packet.getClass(), PacketEvent.Time.Receive);
+        if (PacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Receive)) {
+            PacketEvent packetEvent = new PacketEvent(packet, PacketEvent.Time.Receive);
 
-        MinecraftForge.EVENT_BUS.post(packetEvent);
-        if (packetEvent.isCanceled()) {
-            callbackInfo.cancel();
+            PacketEvent.CHANNEL.post(packetEvent);
+            if (packetEvent.isCanceled()) {
+                callbackInfo.cancel();
+            }
         }
 
     }
@@ -65,11 +99,13 @@ public class MixinNetworkManager {
         cancellable = true
     )
     private void postChannelRead(ChannelHandlerContext channelHandlerContext, Packet packet, CallbackInfo callbackInfo) {
-        PostPacketEvent packetEvent = new PostPacketEvent(packet);
+        if (PostPacketEvent.CHANNEL.hasListeners(packet.getClass(), PacketEvent.Time.Receive)) {
+            PostPacketEvent packetEvent = new PostPacketEvent(packet, PacketEvent.Time.Receive);
 
-        MinecraftForge.EVENT_BUS.post(packetEvent);
-        if (packetEvent.isCanceled()) {
-            callbackInfo.cancel();
+            PostPacketEvent.CHANNEL.post(packetEvent);
+            if (packetEvent.isCanceled()) {
+                callbackInfo.cancel();
+            }
         }
 
     }
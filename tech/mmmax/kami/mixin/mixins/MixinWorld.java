@@ -1,9 +1,31 @@
 package tech.mmmax.kami.mixin.mixins;
 
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import tech.mmmax.kami.api.event.BlockUpdateEvent;
 
 @Mixin({ World.class})
 public class MixinWorld {
 
+    @Shadow
+    @Final
+    public boolean isRemote;
+
+    @Inject(
+        method = { "notifyBlockUpdate"},
+        at = {             @At("HEAD")}
+    )
+    public void notifyBlockUpdate(BlockPos pos, IBlockState oldState, IBlockState newState, int flags, CallbackInfo ci) {
+        if (this.isRemote && BlockUpdateEvent.CHANNEL.hasListeners()) {
+            BlockUpdateEvent.CHANNEL.post(new BlockUpdateEvent(pos, oldState, newState));
+        }
+
+    }
 }
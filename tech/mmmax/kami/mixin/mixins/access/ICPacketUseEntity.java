@@ -11,6 +11,9 @@ public interface ICPacketUseEntity {
     @Accessor("entityId")
     void setEntityId(int i);
 
+    @Accessor("entityId")
+    int getEntityId();
+
     @Accessor("action")
     void setAction(Action action);
 }